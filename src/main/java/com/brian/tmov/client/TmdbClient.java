@@ -1,46 +1,326 @@
 package com.brian.tmov.client;
 
+import com.brian.tmov.client.cache.TmdbCacheEntry;
+import com.brian.tmov.client.cache.TmdbCacheProperties;
+import com.brian.tmov.client.cache.TmdbMissingTitleCache;
+import com.brian.tmov.client.cache.TmdbResponseCache;
+import com.brian.tmov.client.cache.TmdbSnapshotStore;
+import com.brian.tmov.client.cache.TmdbValidators;
+import com.brian.tmov.client.metrics.TmdbCacheOutcome;
+import com.brian.tmov.client.metrics.TmdbClientMetrics;
+import com.brian.tmov.client.resilience.TmdbCircuitBreakerRegistry;
+import com.brian.tmov.client.resilience.TmdbHedgingPolicy;
+import com.brian.tmov.client.resilience.TmdbOutboundLimiter;
+import com.brian.tmov.client.resilience.TmdbRetryPolicy;
+import com.brian.tmov.client.transport.TmdbHttpResponse;
+import com.brian.tmov.client.transport.TmdbTransport;
 import com.brian.tmov.exception.DownstreamException;
 import com.fasterxml.jackson.databind.JsonNode;
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Component
 public class TmdbClient {
 
-    private final RestClient restClient;
+    private final TmdbTransport transport;
+
+    private final TmdbResponseCache responseCache;
+
+    private final TmdbRequestCoalescer requestCoalescer;
+
+    private final TmdbCacheProperties cacheProperties;
+
+    private final TmdbOutboundLimiter outboundLimiter;
+
+    private final TmdbCircuitBreakerRegistry circuitBreakers;
+
+    private final TmdbHedgingPolicy hedgingPolicy;
+
+    private final TmdbRetryPolicy retryPolicy;
+
+    private final TmdbSnapshotStore snapshotStore;
+
+    private final TmdbMissingTitleCache missingTitles;
+
+    private final ObjectMapper objectMapper;
+
+    private final TmdbClientMetrics metrics;
+
+    // getAll 預設的整體期限
+    private static final Duration DEFAULT_BATCH_DEADLINE = Duration.ofSeconds(10);
+
+    // 非同步 / 批次請求使用的虛擬執行緒 (實際併發由 TmdbOutboundLimiter 控制)
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // 正在背景更新中的 key，避免同一個過期項目觸發多次更新
+    private final Set<TmdbRequestKey> refreshing = ConcurrentHashMap.newKeySet();
 
     public TmdbClient(
-            @Value("${tmdb.bearer-token}") String bearerToken,
-            @Value("${tmdb.base-url}") String baseUrl
+            TmdbTransport transport,
+            TmdbResponseCache responseCache,
+            TmdbRequestCoalescer requestCoalescer,
+            TmdbCacheProperties cacheProperties,
+            TmdbOutboundLimiter outboundLimiter,
+            TmdbCircuitBreakerRegistry circuitBreakers,
+            TmdbHedgingPolicy hedgingPolicy,
+            TmdbRetryPolicy retryPolicy,
+            TmdbSnapshotStore snapshotStore,
+            TmdbMissingTitleCache missingTitles,
+            ObjectMapper objectMapper,
+            TmdbClientMetrics metrics
     ) {
-        this.restClient = RestClient.builder()
-                .baseUrl(baseUrl)
-                .defaultHeader("Authorization", "Bearer " + bearerToken)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
+        this.transport = transport;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.cacheProperties = cacheProperties;
+        this.outboundLimiter = outboundLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.hedgingPolicy = hedgingPolicy;
+        this.retryPolicy = retryPolicy;
+        this.snapshotStore = snapshotStore;
+        this.missingTitles = missingTitles;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
     public JsonNode get(String[] paths, Map<String, String> queryParams) {
-        String path = String.join("/", paths);
+        return get(paths, queryParams, objectMapper::readTree);
+    }
+
+//    與 get 相同，但以指定的 reader 解析回應 (例如串流解析成 record)
+    public <T> T get(String[] paths, Map<String, String> queryParams, TmdbResponseReader<T> reader) {
+        // 標準化 key (路徑 + 排序後參數)
+        TmdbRequestKey key = TmdbRequestKey.of(paths, queryParams);
+        long start = System.nanoTime();
+
+        TmdbCacheEntry cached = responseCache.get(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            metrics.recordRequest(key, TmdbCacheOutcome.HIT, 200, start);
+            return read(key, cached.body(), reader);
+        }
+
+        return read(key, loadOrSnapshot(key, cached, start), reader);
+    }
+
+//    與 get 相同，但快取過期 (仍在 max-staleness 內) 時直接回傳舊資料，並以虛擬執行緒在背景更新
+//    適用於首頁列表這類允許短暫延遲更新的資料
+    public JsonNode getStaleWhileRevalidate(String[] paths, Map<String, String> queryParams) {
+        return getStaleWhileRevalidate(paths, queryParams, objectMapper::readTree);
+    }
+
+    public <T> T getStaleWhileRevalidate(String[] paths, Map<String, String> queryParams, TmdbResponseReader<T> reader) {
+        if (!cacheProperties.isStaleWhileRevalidate()) {
+            return get(paths, queryParams, reader);
+        }
+
+        TmdbRequestKey key = TmdbRequestKey.of(paths, queryParams);
+        long start = System.nanoTime();
+
+        TmdbCacheEntry cached = responseCache.get(key);
+        if (cached != null) {
+            boolean fresh = cached.isFresh(System.currentTimeMillis());
+            if (!fresh) {
+                refreshInBackground(key, cached);
+            }
+            metrics.recordRequest(key, fresh ? TmdbCacheOutcome.HIT : TmdbCacheOutcome.STALE, 200, start);
+            return read(key, cached.body(), reader);
+        }
+
+        return read(key, loadOrSnapshot(key, null, start), reader);
+    }
+
+//    非同步版本的 get，在虛擬執行緒上執行 (快取、合併、限流等行為與 get 相同)
+    public CompletableFuture<JsonNode> getAsync(String[] paths, Map<String, String> queryParams) {
+        return getAsync(paths, queryParams, objectMapper::readTree);
+    }
+
+    public <T> CompletableFuture<T> getAsync(String[] paths, Map<String, String> queryParams, TmdbResponseReader<T> reader) {
+        // 帶入呼叫端的 request 屬性，備援快照的舊資料標記才能反映到原本的回應
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return CompletableFuture.supplyAsync(() -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return get(paths, queryParams, reader);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, executor);
+    }
 
-        // 組合 URL
-        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath(path);
-        if (queryParams != null) {
-            queryParams.forEach(uriBuilder::queryParam);
+//    批次並行取得多筆資料，結果順序與 requests 相同
+//    失敗或超過 deadline 的項目為 null (部分結果)，不會因單筆失敗讓整批失敗
+    public List<JsonNode> getAll(List<TmdbRequest> requests) {
+        return getAll(requests, DEFAULT_BATCH_DEADLINE);
+    }
+
+    public List<JsonNode> getAll(List<TmdbRequest> requests, Duration deadline) {
+        return getAll(requests, deadline, objectMapper::readTree);
+    }
+
+    public <T> List<T> getAll(List<TmdbRequest> requests, Duration deadline, TmdbResponseReader<T> reader) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(requests.size());
+        for (TmdbRequest request : requests) {
+            futures.add(getAsync(request.paths(), request.queryParams(), reader));
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        List<T> results = new ArrayList<>(futures.size());
+
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<T> future = futures.get(i);
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                results.add(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // 未完成的請求不中斷，讓它繼續完成並寫入快取，下一次就能直接命中
+                log.warn("TMDB 批次請求超過期限 {}: {}", deadline, String.join("/", requests.get(i).paths()));
+                results.add(null);
+            } catch (ExecutionException e) {
+                log.warn("TMDB 批次請求失敗: {} ({})", String.join("/", requests.get(i).paths()), e.getCause().getMessage());
+                results.add(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DownstreamException("等待 TMDB 批次請求時被中斷", e);
+            }
+        }
+
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // TMDB 故障 (斷路器開啟、逾時、5xx) 時改用最後一次成功的快照，並標記回應為舊資料
+    private byte[] loadOrSnapshot(TmdbRequestKey key, TmdbCacheEntry previous, long start) {
+        // 已知 TMDB 上不存在的項目直接回 404，不必再等一次完整的請求
+        if (missingTitles.isMissing(key)) {
+            metrics.recordRequest(key, TmdbCacheOutcome.NEGATIVE, 404, start);
+            throw new DownstreamException("TMDB 查無此項目: " + key.path(), 404, null);
+        }
+
+        try {
+            byte[] body = load(key, previous);
+            metrics.recordRequest(key, TmdbCacheOutcome.MISS, 200, start);
+            return body;
+        } catch (DownstreamException e) {
+            if (e.getStatus() == 404) missingTitles.markMissing(key);
+
+            byte[] snapshot = isUpstreamUnavailable(e) ? snapshotStore.get(key) : null;
+            if (snapshot == null) {
+                metrics.recordRequest(key, TmdbCacheOutcome.MISS, e.getStatus(), start);
+                throw e;
+            }
+
+            log.warn("TMDB 無法使用，改用備援快照回應: {} ({})", key, e.getMessage());
+            TmdbStaleResponses.markStale();
+            metrics.recordRequest(key, TmdbCacheOutcome.SNAPSHOT, 200, start);
+            return snapshot;
         }
+    }
+
+    // 同一時間相同的請求只打一次 TMDB，其他呼叫端共用結果
+    // previous 為已過期的快取項目，有驗證資訊時送出條件式請求，TMDB 回 304 就沿用原本的內容
+    private byte[] load(TmdbRequestKey key, TmdbCacheEntry previous) {
+        return requestCoalescer.execute(key, () -> {
+            // 每次重試都重新經過斷路器，斷路器開啟後就不再重試
+            TmdbHttpResponse response = retryPolicy.execute(key, () -> circuitBreakers.execute(key,
+                    () -> hedgingPolicy.execute(key, () -> fetch(key, previous))));
+            TmdbValidators validators = TmdbValidators.from(response.headers());
+
+            if (response.isNotModified() && previous != null) {
+                responseCache.revalidated(key, previous, validators);
+                return previous.body();
+            }
+
+            responseCache.put(key, response.body(), validators);
+            snapshotStore.put(key, response.body());
+            return response.body();
+        });
+    }
+
+    private boolean isUpstreamUnavailable(DownstreamException e) {
+        int status = e.getStatus();
+        return status == 0 || status == 429 || status >= 500;
+    }
+
+    private void refreshInBackground(TmdbRequestKey key, TmdbCacheEntry previous) {
+        if (!refreshing.add(key)) return;
+
+        Thread.ofVirtual().name("tmdb-refresh").start(() -> {
+            try {
+                load(key, previous);
+            } catch (Exception e) {
+                log.warn("背景更新 TMDB 快取失敗: {} ({})", key, e.getMessage());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    // 經過全域對外流量限制後才真正送出
+    private TmdbHttpResponse fetch(TmdbRequestKey key, TmdbCacheEntry previous) {
+        HttpHeaders conditionalHeaders = (previous != null) ? previous.conditionalHeaders() : HttpHeaders.EMPTY;
+
+        return outboundLimiter.execute(key, () -> {
+            AtomicInteger inFlight = metrics.upstreamInFlight(key);
+            inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            int status = 0;
+            int payloadBytes = 0;
+
+            try {
+                TmdbHttpResponse response = transport.exchange(key, conditionalHeaders);
+                status = response.status();
+                payloadBytes = (response.body() != null) ? response.body().length : 0;
+
+                if (!response.isSuccessful() && !(response.isNotModified() && previous != null)) {
+                    throw new DownstreamException(
+                            "呼叫 TMDB API 失敗: " + key.path() + " (HTTP " + status + ")",
+                            status,
+                            TmdbRetryPolicy.parseRetryAfter(response.headers()),
+                            null
+                    );
+                }
+                return response;
+            } finally {
+                inFlight.decrementAndGet();
+                metrics.recordUpstream(key, status, payloadBytes, start);
+            }
+        });
+    }
+
+    // 每次都重新解析 (防禦性複製)，呼叫端可直接修改結果而不影響快取或其他共用同一請求的呼叫端
+    private <T> T read(TmdbRequestKey key, byte[] body, TmdbResponseReader<T> reader) {
+        if (body == null || body.length == 0) return null;
 
         try {
-            return restClient.get()
-                    .uri(uriBuilder.build().toUriString())
-                    .retrieve()
-                    .body(JsonNode.class);
-        } catch (Exception e) {
-            throw new DownstreamException("呼叫 TMDB API 失敗: " + path, e);
+            return reader.read(body);
+        } catch (IOException e) {
+            throw new DownstreamException("解析 TMDB 回應失敗: " + key.path(), e);
         }
     }
 }
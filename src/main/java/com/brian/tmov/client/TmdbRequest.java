@@ -0,0 +1,21 @@
+package com.brian.tmov.client;
+
+import java.util.Map;
+
+/**
+ * 批次呼叫 (TmdbClient.getAll) 中的單一請求
+ *
+ * @param paths       API 路徑區段，例如 {"movie", "550"}
+ * @param queryParams 查詢參數
+ */
+public record TmdbRequest(
+
+        String[] paths,
+
+        Map<String, String> queryParams
+) {
+
+    public static TmdbRequest of(Map<String, String> queryParams, String... paths) {
+        return new TmdbRequest(paths, queryParams);
+    }
+}
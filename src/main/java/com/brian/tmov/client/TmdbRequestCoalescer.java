@@ -0,0 +1,72 @@
+package com.brian.tmov.client;
+
+import com.brian.tmov.exception.DownstreamException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 合併同時進行的相同請求 (single-flight)
+ * 同一個 key 同時間只會有一個執行緒真的呼叫 TMDB，其餘呼叫端等待並共用結果或例外
+ * 共用的是原始 bytes，由 TmdbClient 替每個呼叫端各自解析，因此彼此修改 JsonNode 不會互相影響
+ */
+@Component
+public class TmdbRequestCoalescer {
+
+    private final ConcurrentHashMap<TmdbRequestKey, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    // 實際發出的請求數
+    private final LongAdder executions = new LongAdder();
+
+    // 被合併 (搭便車) 的請求數
+    private final LongAdder collapsed = new LongAdder();
+
+    public byte[] execute(TmdbRequestKey key, Supplier<byte[]> loader) {
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            collapsed.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            byte[] result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private byte[] await(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            throw new DownstreamException("等待合併中的 TMDB 請求失敗", cause);
+        }
+    }
+}
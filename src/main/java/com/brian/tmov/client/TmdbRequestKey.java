@@ -0,0 +1,87 @@
+package com.brian.tmov.client;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * TMDB 請求的標準化識別 (路徑 + 依字母排序的查詢參數)
+ * 相同內容的請求不論參數放入順序為何，都會得到相同的 key
+ *
+ * @param path   API 路徑，例如 "movie/550"
+ * @param params 排序後的查詢參數 (不可變)
+ */
+public record TmdbRequestKey(
+
+        String path,
+
+        SortedMap<String, String> params
+) {
+
+    public static TmdbRequestKey of(String[] paths, Map<String, String> queryParams) {
+        SortedMap<String, String> sorted = new TreeMap<>();
+        if (queryParams != null) {
+            queryParams.forEach((k, v) -> {
+                if (k != null && v != null) sorted.put(k, v);
+            });
+        }
+        return new TmdbRequestKey(String.join("/", paths), Collections.unmodifiableSortedMap(sorted));
+    }
+
+//    端點樣板：將數字 ID 區段換成 {id}，例如 "movie/550/videos" -> "movie/{id}/videos"
+    public String endpoint() {
+        String[] segments = path.split("/");
+        StringBuilder sb = new StringBuilder(path.length());
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) sb.append('/');
+            sb.append(isNumeric(segments[i]) ? "{id}" : segments[i]);
+        }
+        return sb.toString();
+    }
+
+//    端點樣板由長到短的前綴，用於查詢各端點類別的設定
+//    例如 "movie/{id}/videos" -> ["movie/{id}/videos", "movie/{id}", "movie"]
+    public List<String> endpointPrefixes() {
+        List<String> prefixes = new ArrayList<>();
+        String candidate = endpoint();
+        while (candidate != null) {
+            prefixes.add(candidate);
+            int slash = candidate.lastIndexOf('/');
+            candidate = (slash > 0) ? candidate.substring(0, slash) : null;
+        }
+        return prefixes;
+    }
+
+//    組合成完整且已編碼的 URI
+    public URI toUri(String baseUrl) {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(baseUrl).path(path);
+        params.forEach(uriBuilder::queryParam);
+        return uriBuilder.build().encode().toUri();
+    }
+
+//    組合成相對 URL (不含 base-url)
+    public String toUriString() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromPath(path);
+        params.forEach(uriBuilder::queryParam);
+        return uriBuilder.build().toUriString();
+    }
+
+    @Override
+    public String toString() {
+        return toUriString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        if (segment.isEmpty()) return false;
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) return false;
+        }
+        return true;
+    }
+}
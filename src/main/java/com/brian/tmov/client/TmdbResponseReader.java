@@ -0,0 +1,10 @@
+package com.brian.tmov.client;
+
+import java.io.IOException;
+
+// 將 TMDB 原始回應 (JSON bytes) 轉換成呼叫端需要的型別
+@FunctionalInterface
+public interface TmdbResponseReader<T> {
+
+    T read(byte[] body) throws IOException;
+}
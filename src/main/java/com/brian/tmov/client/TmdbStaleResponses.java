@@ -0,0 +1,36 @@
+package com.brian.tmov.client;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 標記目前的 HTTP 請求使用了舊資料 (TMDB 故障時的備援快照)
+ * 由 TmdbStaleHeaderAdvice 在回應時加上 X-Tmdb-Stale 標頭
+ * 非 Web 請求 (排程、背景執行緒) 沒有 RequestAttributes，標記會被忽略
+ */
+public final class TmdbStaleResponses {
+
+    public static final String HEADER = "X-Tmdb-Stale";
+
+    private static final String ATTRIBUTE = TmdbStaleResponses.class.getName() + ".stale";
+
+    private TmdbStaleResponses() {
+    }
+
+    public static void markStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return;
+
+        try {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        } catch (IllegalStateException ignored) {
+            // 非同步請求完成時原本的 HTTP 請求已結束，不需要再標記
+        }
+    }
+
+    public static boolean isMarkedStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
@@ -0,0 +1,161 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 以 Caffeine 實作的行程內快取
+ * 容量以回應大小計算，淘汰策略為 W-TinyLFU (頻率低的新項目不會擠掉常用項目)
+ * 每筆項目依端點類別套用各自的 TTL，過期後再保留 max-staleness 供 stale-while-revalidate 使用
+ * 啟用磁碟快取時 (tmdb.cache.disk.enabled=true) 寫入會同步附加到磁碟，記憶體未命中時再從磁碟讀回
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tmdb.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CaffeineTmdbResponseCache implements TmdbResponseCache {
+
+    // 估算 key 與項目本身的額外開銷
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final TmdbCacheProperties properties;
+
+    private final Cache<TmdbRequestKey, TmdbCacheEntry> cache;
+
+    // 磁碟層 (未啟用時為 null)
+    private final TmdbDiskCache diskCache;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder staleHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public CaffeineTmdbResponseCache(TmdbCacheProperties properties, ObjectProvider<TmdbDiskCache> diskCache) {
+        this.properties = properties;
+        this.diskCache = diskCache.getIfAvailable();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((TmdbRequestKey key, TmdbCacheEntry entry) -> entry.body().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+
+        log.info("TMDB 回應快取已啟用，容量上限 {} MB，預設 TTL {}",
+                properties.getMaximumSize().toMegabytes(), properties.getDefaultTtl());
+    }
+
+    @Override
+    public TmdbCacheEntry get(TmdbRequestKey key) {
+        TmdbCacheEntry entry = cache.getIfPresent(key);
+        long now = System.currentTimeMillis();
+
+        // 記憶體未命中時改查磁碟，找到就放回記憶體 (重新啟動後的第一次請求)
+        if (entry == null && diskCache != null) {
+            entry = diskCache.get(key);
+            if (entry != null) cache.put(key, entry);
+        }
+
+        if (entry != null && entry.isFresh(now)) {
+            hits.increment();
+            return entry;
+        }
+        if (entry != null && entry.isServableStale(now)) {
+            staleHits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(TmdbRequestKey key, byte[] body, TmdbValidators validators) {
+        // 端點 TTL 設為 0 代表不快取
+        if (body == null || validators.noStore() || !isCacheable(key)) return;
+
+        store(key, body, validators);
+    }
+
+    @Override
+    public void revalidated(TmdbRequestKey key, TmdbCacheEntry previous, TmdbValidators validators) {
+        if (previous == null || validators.noStore() || !isCacheable(key)) return;
+
+        store(key, previous.body(), validators.orElse(previous.validators()));
+    }
+
+    private boolean isCacheable(TmdbRequestKey key) {
+        Duration ttl = properties.ttlFor(key);
+        return !ttl.isZero() && !ttl.isNegative();
+    }
+
+    // max-age 為 0 時仍保留項目 (立即過期)，之後可用驗證資訊重新驗證
+    private void store(TmdbRequestKey key, byte[] body, TmdbValidators validators) {
+        long now = System.currentTimeMillis();
+        long freshUntil = now + properties.freshnessFor(key, validators).toMillis();
+        TmdbCacheEntry entry = new TmdbCacheEntry(
+                body,
+                now,
+                freshUntil,
+                freshUntil + properties.getMaxStaleness().toMillis(),
+                validators.etag(),
+                validators.lastModified()
+        );
+        cache.put(key, entry);
+        if (diskCache != null) diskCache.put(key, entry);
+    }
+
+    @Override
+    public void invalidate(TmdbRequestKey key) {
+        cache.invalidate(key);
+        if (diskCache != null) diskCache.invalidate(key);
+    }
+
+    @Override
+    public TmdbCacheStats stats() {
+        long weight = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+
+        return new TmdbCacheStats(
+                hits.sum(),
+                staleHits.sum(),
+                misses.sum(),
+                cache.stats().evictionCount(),
+                cache.estimatedSize(),
+                weight
+        );
+    }
+
+    // 每筆項目在各自的 staleUntil 才真正從快取移除
+    private static class EntryExpiry implements Expiry<TmdbRequestKey, TmdbCacheEntry> {
+
+        @Override
+        public long expireAfterCreate(TmdbRequestKey key, TmdbCacheEntry entry, long currentTime) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterUpdate(TmdbRequestKey key, TmdbCacheEntry entry, long currentTime, long currentDuration) {
+            return remainingNanos(entry);
+        }
+
+        @Override
+        public long expireAfterRead(TmdbRequestKey key, TmdbCacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private long remainingNanos(TmdbCacheEntry entry) {
+            long remainingMillis = entry.staleUntil() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// 關閉快取時使用 (tmdb.cache.enabled=false)，所有請求都直接打到 TMDB
+@Component
+@ConditionalOnProperty(name = "tmdb.cache.enabled", havingValue = "false")
+public class NoOpTmdbResponseCache implements TmdbResponseCache {
+
+    @Override
+    public TmdbCacheEntry get(TmdbRequestKey key) {
+        return null;
+    }
+
+    @Override
+    public void put(TmdbRequestKey key, byte[] body, TmdbValidators validators) {
+    }
+
+    @Override
+    public void revalidated(TmdbRequestKey key, TmdbCacheEntry previous, TmdbValidators validators) {
+    }
+
+    @Override
+    public void invalidate(TmdbRequestKey key) {
+    }
+
+    @Override
+    public TmdbCacheStats stats() {
+        return TmdbCacheStats.EMPTY;
+    }
+}
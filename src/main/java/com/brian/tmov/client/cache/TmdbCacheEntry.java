@@ -0,0 +1,50 @@
+package com.brian.tmov.client.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * TMDB 回應快取項目
+ * 只保存原始 JSON bytes，每次命中時重新解析，呼叫端拿到的永遠是獨立的 JsonNode，可以放心修改
+ *
+ * @param body         原始回應內容
+ * @param storedAt     寫入 (或最近一次重新驗證) 時間 (epoch millis)
+ * @param freshUntil   有效期限 (epoch millis)
+ * @param staleUntil   過期後仍可作為舊資料回傳的最後期限 (epoch millis)
+ * @param etag         TMDB 回應的 ETag，可能為 null
+ * @param lastModified TMDB 回應的 Last-Modified，可能為 null
+ */
+public record TmdbCacheEntry(
+
+        byte[] body,
+
+        long storedAt,
+
+        long freshUntil,
+
+        long staleUntil,
+
+        String etag,
+
+        String lastModified
+) {
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean isServableStale(long now) {
+        return now < staleUntil;
+    }
+
+    public TmdbValidators validators() {
+        return new TmdbValidators(etag, lastModified, null, false);
+    }
+
+//    重新驗證用的條件式請求標頭 (If-None-Match / If-Modified-Since)
+    public HttpHeaders conditionalHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+        if (lastModified != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        return headers;
+    }
+}
@@ -0,0 +1,84 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tmdb.cache")
+public class TmdbCacheProperties {
+
+    // 快取總容量 (以回應 bytes 計算)
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    // 找不到對應端點設定時使用的 TTL
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    // 是否允許列表類請求先回傳過期資料，再於背景更新 (stale-while-revalidate)
+    private boolean staleWhileRevalidate = true;
+
+    // 過期資料最多可再使用多久，超過就必須同步向 TMDB 取得
+    private Duration maxStaleness = Duration.ofHours(1);
+
+    // TMDB 回應的 Cache-Control max-age 比端點 TTL 短時，以 max-age 為準
+    private boolean respectMaxAge = true;
+
+    // TMDB 回 404 的影視項目 (movie/tv/person + ID) 在此期間內直接視為不存在
+    private Duration negativeTtl = Duration.ofHours(6);
+
+    // 負向快取最多記錄的項目數
+    private long negativeMaximumSize = 10_000;
+
+    // 各端點類別的 TTL，key 為端點樣板或其前綴，例如 "trending"、"movie/{id}"、"configuration"
+    private Map<String, Duration> ttl = new LinkedHashMap<>();
+
+    // 磁碟快取設定 (重新啟動後仍可使用的持久層)
+    private Disk disk = new Disk();
+
+//    依端點樣板找出 TTL，由長到短比對前綴 (movie/{id}/videos -> movie/{id} -> movie)
+    public Duration ttlFor(TmdbRequestKey key) {
+        for (String prefix : key.endpointPrefixes()) {
+            Duration configured = ttl.get(prefix);
+            if (configured != null) return configured;
+        }
+        return defaultTtl;
+    }
+
+//    實際的有效期間：端點 TTL 與 TMDB max-age 取較短者
+    public Duration freshnessFor(TmdbRequestKey key, TmdbValidators validators) {
+        Duration configured = ttlFor(key);
+        Duration maxAge = validators.maxAge();
+        if (respectMaxAge && maxAge != null && maxAge.compareTo(configured) < 0) {
+            return maxAge;
+        }
+        return configured;
+    }
+
+    @Data
+    public static class Disk {
+
+        private boolean enabled = false;
+
+        // segment 檔存放目錄
+        private String directory = "cache/tmdb";
+
+        // 磁碟快取總容量，超過時丟棄最舊的 segment
+        private DataSize maximumSize = DataSize.ofMegabytes(512);
+
+        // 單一 segment 檔大小 (建立時即配置並以 mmap 對應)
+        private DataSize segmentSize = DataSize.ofMegabytes(32);
+
+        // 壓縮排程間隔
+        private Duration compactionInterval = Duration.ofMinutes(10);
+
+        // segment 中有效資料比例低於此值時進行壓縮
+        private double compactionThreshold = 0.5;
+    }
+}
@@ -0,0 +1,27 @@
+package com.brian.tmov.client.cache;
+
+/**
+ * @param hitCount      命中次數
+ * @param staleHitCount 找到已過期但仍在保留期限內的項目次數
+ * @param missCount     未命中次數
+ * @param evictionCount 因容量或過期被移除的次數
+ * @param entryCount    目前項目數 (估計值)
+ * @param weightBytes   目前佔用的 bytes (估計值)
+ */
+public record TmdbCacheStats(
+
+        long hitCount,
+
+        long staleHitCount,
+
+        long missCount,
+
+        long evictionCount,
+
+        long entryCount,
+
+        long weightBytes
+) {
+
+    public static final TmdbCacheStats EMPTY = new TmdbCacheStats(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,613 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * TMDB 回應的磁碟快取 (位於 Caffeine 行程內快取之下)
+ * 重新啟動或重新部署後可直接從磁碟提供回應，避免冷啟動時大量打到 TMDB
+ *
+ * 檔案格式：固定大小的 segment 檔，只做附加寫入 (append-only)，以 memory-mapped 方式讀寫
+ * 每筆紀錄 (version 2)：
+ *   [version:1][length:4][crc32:4][storedAt:8][freshUntil:8][staleUntil:8][keyLength:4][key]
+ *   [etagLength:4][etag][lastModifiedLength:4][lastModified][bodyLength:4][body]
+ * 字串長度 -1 代表 null；version 1 沒有 etag / lastModified，仍可讀取
+ * bodyLength = -1 代表刪除標記 (tombstone)，version = 0 代表 segment 已寫到結尾
+ *
+ * 啟動時依序掃描所有 segment 重建記憶體中的 offset 索引，CRC 不符的紀錄之後視為損毀並停止掃描該 segment
+ * 排程壓縮會把存活比例過低的 segment 中仍有效的紀錄搬到最新 segment，再刪除舊檔
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tmdb.cache.disk.enabled", havingValue = "true")
+public class TmdbDiskCache {
+
+    private static final byte RECORD_VERSION = 2;
+
+    // 舊格式 (沒有驗證資訊)
+    private static final byte RECORD_VERSION_V1 = 1;
+
+    private static final byte END_OF_SEGMENT = 0;
+
+    // version + length + crc
+    private static final int HEADER_BYTES = 1 + 4 + 4;
+
+    // storedAt + freshUntil + staleUntil + keyLength + bodyLength (version 1 的最小長度)
+    private static final int FIXED_PAYLOAD_BYTES = 8 + 8 + 8 + 4 + 4;
+
+    // etagLength + lastModifiedLength
+    private static final int VALIDATOR_LENGTH_BYTES = 4 + 4;
+
+    private static final int TOMBSTONE = -1;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final TmdbCacheProperties.Disk properties;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    // key (標準化 URL) -> 最新一筆紀錄的位置
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+    // 寫入 (附加、切換 segment、壓縮) 一律在這把鎖內進行；讀取不需要鎖
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder writeFailures = new LongAdder();
+
+    private volatile Segment active;
+
+    // 正在壓縮的 segment (只在 writeLock 內讀寫)，容量控管不能丟棄它，否則尚未搬移的資料會遺失
+    private Segment compacting;
+
+    public TmdbDiskCache(TmdbCacheProperties cacheProperties) throws IOException {
+        this.properties = cacheProperties.getDisk();
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = (int) Math.min(properties.getSegmentSize().toBytes(), Integer.MAX_VALUE);
+
+        Files.createDirectories(directory);
+        recover();
+
+        log.info("TMDB 磁碟快取已啟用: {} (segment {} 個，索引 {} 筆)",
+                directory.toAbsolutePath(), segments.size(), index.size());
+    }
+
+    public TmdbCacheEntry get(TmdbRequestKey key) {
+        String keyString = key.toUriString();
+        Location location = index.get(keyString);
+        long now = System.currentTimeMillis();
+
+        if (location == null) {
+            misses.increment();
+            return null;
+        }
+        if (now >= location.staleUntil()) {
+            index.remove(keyString, location);
+            releaseLiveBytes(location);
+            misses.increment();
+            return null;
+        }
+
+        Segment segment = segments.get(location.segmentId());
+        Record record = (segment != null) ? segment.read(location.offset(), location.length()) : null;
+
+        if (record == null || record.body() == null || !record.key().equals(keyString)) {
+            index.remove(keyString, location);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return new TmdbCacheEntry(record.body(), record.storedAt(), record.freshUntil(), record.staleUntil(),
+                record.etag(), record.lastModified());
+    }
+
+    public void put(TmdbRequestKey key, TmdbCacheEntry entry) {
+        append(key.toUriString(), entry.body(), entry.storedAt(), entry.freshUntil(), entry.staleUntil(),
+                entry.etag(), entry.lastModified());
+    }
+
+    public void invalidate(TmdbRequestKey key) {
+        String keyString = key.toUriString();
+        if (index.containsKey(keyString)) {
+            append(keyString, null, 0, 0, 0, null, null);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getWriteFailureCount() {
+        return writeFailures.sum();
+    }
+
+    public int getEntryCount() {
+        return index.size();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getDiskBytes() {
+        return segments.values().stream().mapToLong(Segment::writtenBytes).sum();
+    }
+
+    // ===================================================================================
+    // 寫入
+    // ===================================================================================
+
+    private void append(String keyString, byte[] body, long storedAt, long freshUntil, long staleUntil,
+                        String etag, String lastModified) {
+        byte[] keyBytes = keyString.getBytes(StandardCharsets.UTF_8);
+        byte[] etagBytes = (etag != null) ? etag.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] lastModifiedBytes = (lastModified != null) ? lastModified.getBytes(StandardCharsets.UTF_8) : null;
+        int bodyLength = (body != null) ? body.length : 0;
+        int length = HEADER_BYTES + FIXED_PAYLOAD_BYTES + VALIDATOR_LENGTH_BYTES + keyBytes.length
+                + lengthOf(etagBytes) + lengthOf(lastModifiedBytes) + bodyLength;
+
+        // 單筆超過 segment 大小就不寫入磁碟 (只保留在記憶體快取)
+        if (length >= segmentSize) return;
+
+        ByteBuffer record = encode(keyBytes, etagBytes, lastModifiedBytes, body, storedAt, freshUntil, staleUntil, length);
+
+        writeLock.lock();
+        try {
+            Segment segment = active;
+            if (segment == null || !segment.hasRoom(length)) {
+                segment = rollSegment();
+            }
+
+            int offset = segment.append(record);
+
+            if (body == null) {
+                Location previous = index.remove(keyString);
+                if (previous != null) releaseLiveBytes(previous);
+                segment.addDeadBytes(length);
+            } else {
+                Location previous = index.put(keyString, new Location(segment.id, offset, length, staleUntil));
+                if (previous != null) releaseLiveBytes(previous);
+                segment.addLiveBytes(length);
+            }
+
+            enforceMaximumSize();
+        } catch (IOException | UncheckedIOException e) {
+            writeFailures.increment();
+            log.warn("寫入 TMDB 磁碟快取失敗: {} ({})", keyString, e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private ByteBuffer encode(byte[] keyBytes, byte[] etagBytes, byte[] lastModifiedBytes, byte[] body,
+                              long storedAt, long freshUntil, long staleUntil, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(RECORD_VERSION);
+        buffer.putInt(length);
+        buffer.putInt(0); // CRC 稍後回填
+        buffer.putLong(storedAt);
+        buffer.putLong(freshUntil);
+        buffer.putLong(staleUntil);
+        buffer.putInt(keyBytes.length);
+        buffer.put(keyBytes);
+        putNullable(buffer, etagBytes);
+        putNullable(buffer, lastModifiedBytes);
+        buffer.putInt(body != null ? body.length : TOMBSTONE);
+        if (body != null) buffer.put(body);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_BYTES, length - HEADER_BYTES);
+        buffer.putInt(1 + 4, (int) crc.getValue());
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return (bytes != null) ? bytes.length : 0;
+    }
+
+    private static void putNullable(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes != null ? bytes.length : TOMBSTONE);
+        if (bytes != null) buffer.put(bytes);
+    }
+
+    private Segment rollSegment() throws IOException {
+        if (active != null) active.seal();
+
+        int nextId = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Segment segment = Segment.create(segmentPath(nextId), nextId, segmentSize);
+        segments.put(nextId, segment);
+        active = segment;
+        return segment;
+    }
+
+    // 總容量超過上限時，從最舊的 segment 開始丟棄 (略過使用中與正在壓縮的 segment)
+    private void enforceMaximumSize() {
+        long maximumBytes = properties.getMaximumSize().toBytes();
+        while (segments.size() > 1 && (long) segments.size() * segmentSize > maximumBytes) {
+            Segment oldest = segments.values().stream()
+                    .filter(segment -> segment != active && segment != compacting)
+                    .findFirst()
+                    .orElse(null);
+            if (oldest == null) break;
+            dropSegment(oldest);
+        }
+    }
+
+    // ===================================================================================
+    // 壓縮
+    // ===================================================================================
+
+    @Scheduled(
+            initialDelayString = "${tmdb.cache.disk.compaction-interval:10m}",
+            fixedDelayString = "${tmdb.cache.disk.compaction-interval:10m}"
+    )
+    public void compact() {
+        long now = System.currentTimeMillis();
+
+        // 先清掉索引中已完全過期的項目
+        index.forEach((keyString, location) -> {
+            if (now >= location.staleUntil() && index.remove(keyString, location)) {
+                releaseLiveBytes(location);
+            }
+        });
+
+        int compacted = 0;
+        for (Segment segment : List.copyOf(segments.values())) {
+            if (segment == active) continue;
+            if (segment.liveRatio() >= properties.getCompactionThreshold()) continue;
+
+            writeLock.lock();
+            try {
+                // 取得鎖之前可能已被容量控管丟棄
+                if (segments.get(segment.id) != segment) continue;
+
+                compacting = segment;
+                try {
+                    copyLiveRecords(segment, now);
+                } finally {
+                    compacting = null;
+                }
+                dropSegment(segment);
+                compacted++;
+
+                // 搬移期間略過的容量控管在這裡補做
+                enforceMaximumSize();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        if (compacted > 0) {
+            log.info("TMDB 磁碟快取壓縮完成，移除 {} 個 segment，目前索引 {} 筆", compacted, index.size());
+        }
+    }
+
+    private void copyLiveRecords(Segment segment, long now) {
+        List<Map.Entry<String, Location>> live = new ArrayList<>();
+        index.forEach((keyString, location) -> {
+            if (location.segmentId() == segment.id && now < location.staleUntil()) {
+                live.add(Map.entry(keyString, location));
+            }
+        });
+
+        for (Map.Entry<String, Location> entry : live) {
+            Record record = segment.read(entry.getValue().offset(), entry.getValue().length());
+            if (record == null || record.body() == null) continue;
+
+            // 期間若已有較新的寫入就不需要搬移
+            if (index.get(entry.getKey()) != entry.getValue()) continue;
+
+            append(entry.getKey(), record.body(), record.storedAt(), record.freshUntil(), record.staleUntil(),
+                    record.etag(), record.lastModified());
+        }
+    }
+
+    private void dropSegment(Segment segment) {
+        segments.remove(segment.id);
+        index.values().removeIf(location -> location.segmentId() == segment.id);
+        segment.close();
+
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("刪除 TMDB 磁碟快取 segment 失敗: {} ({})", segment.path, e.getMessage());
+        }
+    }
+
+    private void releaseLiveBytes(Location location) {
+        Segment segment = segments.get(location.segmentId());
+        if (segment != null) segment.addLiveBytes(-location.length());
+    }
+
+    // ===================================================================================
+    // 啟動時復原索引
+    // ===================================================================================
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream
+                    .filter(path -> segmentId(path) > 0)
+                    .sorted((a, b) -> Integer.compare(segmentId(a), segmentId(b)))
+                    .toList();
+        }
+
+        long now = System.currentTimeMillis();
+        for (Path path : files) {
+            try {
+                Segment segment = Segment.open(path, segmentId(path), segmentSize);
+                segments.put(segment.id, segment);
+                scan(segment, now);
+            } catch (IOException e) {
+                log.warn("無法讀取 TMDB 磁碟快取 segment，略過: {} ({})", path, e.getMessage());
+            }
+        }
+
+        // 只有最後一個 segment 會繼續寫入，其餘皆視為已封存
+        Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        segments.values().forEach(segment -> {
+            if (segment != last) segment.seal();
+        });
+        active = last;
+    }
+
+    private void scan(Segment segment, long now) {
+        int position = 0;
+
+        while (true) {
+            Record record = segment.readAt(position);
+            if (record == null) break;
+
+            if (record.body() == null) {
+                Location previous = index.remove(record.key());
+                if (previous != null) releaseLiveBytes(previous);
+                segment.addDeadBytes(record.length());
+            } else if (now < record.staleUntil()) {
+                Location previous = index.put(record.key(),
+                        new Location(segment.id, position, record.length(), record.staleUntil()));
+                if (previous != null) releaseLiveBytes(previous);
+                segment.addLiveBytes(record.length());
+            } else {
+                segment.addDeadBytes(record.length());
+            }
+
+            position += record.length();
+        }
+
+        segment.resumeAt(position);
+    }
+
+    private Path segmentPath(int id) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static int segmentId(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) return -1;
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeLock.lock();
+        try {
+            segments.values().forEach(Segment::flush);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ===================================================================================
+    // 內部結構
+    // ===================================================================================
+
+    private record Location(int segmentId, int offset, int length, long staleUntil) {
+    }
+
+    private record Record(String key, byte[] body, long storedAt, long freshUntil, long staleUntil,
+                          String etag, String lastModified, int length) {
+    }
+
+    private static final class Segment {
+
+        private final int id;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private final AtomicLong liveBytes = new AtomicLong();
+
+        private final AtomicLong deadBytes = new AtomicLong();
+
+        private volatile int writePosition;
+
+        private volatile boolean sealed;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, int id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        static Segment open(Path path, int id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long mappedSize = Math.max(channel.size(), size);
+            return new Segment(id, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        }
+
+        boolean hasRoom(int length) {
+            // 保留一個 byte 寫入結尾標記
+            return !sealed && writePosition + length < buffer.capacity();
+        }
+
+        // 僅在持有寫入鎖時呼叫
+        int append(ByteBuffer record) {
+            int offset = writePosition;
+            int length = record.remaining();
+            buffer.put(offset, record, 0, length);
+            buffer.put(offset + length, END_OF_SEGMENT);
+            writePosition = offset + length;
+            return offset;
+        }
+
+        void resumeAt(int position) {
+            writePosition = position;
+        }
+
+        void seal() {
+            sealed = true;
+            flush();
+        }
+
+        void flush() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // mapping 不受 channel 關閉影響，由 GC 回收
+            }
+        }
+
+        long writtenBytes() {
+            return writePosition;
+        }
+
+        void addLiveBytes(long delta) {
+            liveBytes.addAndGet(delta);
+            if (delta < 0) deadBytes.addAndGet(-delta);
+        }
+
+        void addDeadBytes(long delta) {
+            deadBytes.addAndGet(delta);
+        }
+
+        double liveRatio() {
+            long total = liveBytes.get() + deadBytes.get();
+            return (total == 0) ? 1.0 : (double) liveBytes.get() / total;
+        }
+
+        Record read(int offset, int length) {
+            Record record = readAt(offset);
+            return (record != null && record.length() == length) ? record : null;
+        }
+
+        // 讀取並驗證指定位置的紀錄；遇到結尾、未知版本或 CRC 不符時回傳 null
+        Record readAt(int offset) {
+            if (offset + HEADER_BYTES + FIXED_PAYLOAD_BYTES > buffer.capacity()) return null;
+            byte version = buffer.get(offset);
+            if (version != RECORD_VERSION && version != RECORD_VERSION_V1) return null;
+
+            int length = buffer.getInt(offset + 1);
+            if (length < HEADER_BYTES + FIXED_PAYLOAD_BYTES || offset + length > buffer.capacity()) return null;
+
+            byte[] payload = new byte[length - HEADER_BYTES];
+            buffer.get(offset + HEADER_BYTES, payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 5)) return null;
+
+            // CRC 正確但長度欄位不合理 (例如寫入到一半) 時視為損毀
+            try {
+                return decode(ByteBuffer.wrap(payload), version, length);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static Record decode(ByteBuffer in, byte version, int length) {
+            long storedAt = in.getLong();
+            long freshUntil = in.getLong();
+            long staleUntil = in.getLong();
+
+            String key = readString(in);
+            if (key == null) throw new IllegalArgumentException("missing key");
+
+            String etag = null;
+            String lastModified = null;
+            if (version >= RECORD_VERSION) {
+                etag = readString(in);
+                lastModified = readString(in);
+            }
+
+            byte[] body = readBytes(in);
+            if (in.hasRemaining()) throw new IllegalArgumentException("trailing bytes");
+
+            return new Record(key, body, storedAt, freshUntil, staleUntil, etag, lastModified, length);
+        }
+
+        private static String readString(ByteBuffer in) {
+            byte[] bytes = readBytes(in);
+            return (bytes != null) ? new String(bytes, StandardCharsets.UTF_8) : null;
+        }
+
+        // 長度 -1 代表 null
+        private static byte[] readBytes(ByteBuffer in) {
+            int length = in.getInt();
+            if (length == TOMBSTONE) return null;
+            if (length < 0 || length > in.remaining()) throw new IllegalArgumentException("bad length " + length);
+
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 負向快取：記錄 TMDB 回 404 的影視項目 (媒體類型 + ID)，在 TTL 內直接視為不存在，不再打 TMDB
+ * 例如 movie/550 回 404 後，movie/550 與 movie/550/videos 等子資源都會被略過
+ */
+@Component
+public class TmdbMissingTitleCache {
+
+    // 只有這些類型的第二段是影視項目 ID
+    private static final Set<String> TITLE_TYPES = Set.of("movie", "tv", "person");
+
+    private final Cache<String, Long> missing;
+
+    private final LongAdder hits = new LongAdder();
+
+    public TmdbMissingTitleCache(TmdbCacheProperties properties) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaximumSize())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .build();
+    }
+
+//    請求對應的影視項目 key，例如 "movie/550/videos" -> "movie/550"，不是單一項目的請求回傳 null
+    public static String titleKeyOf(TmdbRequestKey key) {
+        String[] segments = key.path().split("/", 3);
+        if (segments.length < 2 || !TITLE_TYPES.contains(segments[0]) || !isNumeric(segments[1])) {
+            return null;
+        }
+        return segments[0] + "/" + segments[1];
+    }
+
+    public boolean isMissing(TmdbRequestKey key) {
+        String titleKey = titleKeyOf(key);
+        if (titleKey == null || missing.getIfPresent(titleKey) == null) return false;
+
+        hits.increment();
+        return true;
+    }
+
+//    只在項目本身 (movie/{id}) 回 404 時記錄，子資源的 404 不代表項目已被刪除
+    public void markMissing(TmdbRequestKey key) {
+        String titleKey = titleKeyOf(key);
+        if (titleKey != null && titleKey.equals(key.path())) {
+            missing.put(titleKey, System.currentTimeMillis());
+        }
+    }
+
+//    項目重新出現 (成功取得) 時清除紀錄
+    public void clear(TmdbRequestKey key) {
+        String titleKey = titleKeyOf(key);
+        if (titleKey != null) missing.invalidate(titleKey);
+    }
+
+    public long size() {
+        return missing.estimatedSize();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    private static boolean isNumeric(String segment) {
+        if (segment.isEmpty()) return false;
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) return false;
+        }
+        return true;
+    }
+}
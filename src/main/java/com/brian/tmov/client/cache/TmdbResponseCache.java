@@ -0,0 +1,27 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+
+public interface TmdbResponseCache {
+
+//    取得快取項目，不存在或超過最大保留期限時回傳 null
+//    回傳的項目可能已過期 (isFresh 為 false)，由呼叫端決定是否先以舊資料回應
+    TmdbCacheEntry get(TmdbRequestKey key);
+
+//    寫入快取，TTL 依端點類別決定 (見 TmdbCacheProperties)
+    default void put(TmdbRequestKey key, byte[] body) {
+        put(key, body, TmdbValidators.NONE);
+    }
+
+//    寫入快取並保存驗證資訊；TMDB 的 max-age 較短時以 max-age 為準
+    void put(TmdbRequestKey key, byte[] body, TmdbValidators validators);
+
+//    TMDB 回 304 (內容未變)，沿用原本的 body 並更新有效期限
+    void revalidated(TmdbRequestKey key, TmdbCacheEntry previous, TmdbValidators validators);
+
+//    移除單筆快取
+    void invalidate(TmdbRequestKey key);
+
+//    命中 / 過期命中 / 未命中 / 淘汰統計
+    TmdbCacheStats stats();
+}
@@ -0,0 +1,37 @@
+package com.brian.tmov.client.cache;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.client.resilience.TmdbCircuitBreakerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+/**
+ * 保存每個請求最後一次成功的回應 (last-known-good)
+ * 與一般快取分開保存且保留較久，TMDB 故障時即使快取已過期仍可回傳舊資料
+ */
+@Component
+public class TmdbSnapshotStore {
+
+    private final Cache<TmdbRequestKey, byte[]> snapshots;
+
+    public TmdbSnapshotStore(TmdbCircuitBreakerProperties properties) {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(properties.getSnapshotMaximumSize().toBytes())
+                .weigher((TmdbRequestKey key, byte[] body) -> body.length)
+                .expireAfterWrite(properties.getSnapshotRetention())
+                .build();
+    }
+
+    public void put(TmdbRequestKey key, byte[] body) {
+        if (body != null) snapshots.put(key, body);
+    }
+
+    public byte[] get(TmdbRequestKey key) {
+        return snapshots.getIfPresent(key);
+    }
+
+    public long size() {
+        return snapshots.estimatedSize();
+    }
+}
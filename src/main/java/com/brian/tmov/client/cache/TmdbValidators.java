@@ -0,0 +1,69 @@
+package com.brian.tmov.client.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * TMDB 回應附帶的快取驗證資訊
+ * 過期後以 If-None-Match / If-Modified-Since 重新驗證，TMDB 回 304 時只需更新期限，不必重新下載內容
+ *
+ * @param etag         ETag (原樣保存，包含 W/ 前綴)
+ * @param lastModified Last-Modified (原樣保存)
+ * @param maxAge       Cache-Control 的 max-age，沒有時為 null
+ * @param noStore      Cache-Control 含 no-store 時不快取
+ */
+public record TmdbValidators(
+
+        String etag,
+
+        String lastModified,
+
+        Duration maxAge,
+
+        boolean noStore
+) {
+
+    public static final TmdbValidators NONE = new TmdbValidators(null, null, null, false);
+
+    public static TmdbValidators from(HttpHeaders headers) {
+        if (headers == null) return NONE;
+
+        Duration maxAge = null;
+        boolean noStore = false;
+
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            for (String directive : cacheControl.split(",")) {
+                String value = directive.trim().toLowerCase();
+                if (value.equals("no-store")) {
+                    noStore = true;
+                } else if (value.equals("no-cache")) {
+                    maxAge = Duration.ZERO;
+                } else if (value.startsWith("max-age=") && maxAge == null) {
+                    maxAge = parseSeconds(value.substring("max-age=".length()));
+                }
+            }
+        }
+
+        return new TmdbValidators(headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), maxAge, noStore);
+    }
+
+//    304 回應可能不帶驗證資訊，沿用先前的值
+    public TmdbValidators orElse(TmdbValidators previous) {
+        return new TmdbValidators(
+                etag != null ? etag : previous.etag(),
+                lastModified != null ? lastModified : previous.lastModified(),
+                maxAge,
+                noStore
+        );
+    }
+
+    private static Duration parseSeconds(String value) {
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.replace("\"", "").trim())));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.brian.tmov.client.metrics;
+
+// 單次 TmdbClient 請求的快取結果 (作為 metrics 的 cache 標籤)
+public enum TmdbCacheOutcome {
+
+    // 命中且未過期
+    HIT,
+
+    // 回傳過期資料並在背景更新 (stale-while-revalidate)
+    STALE,
+
+    // 未命中，同步向 TMDB 取得
+    MISS,
+
+    // TMDB 故障，改用備援快照
+    SNAPSHOT,
+
+    // 項目已知不存在 (負向快取)，未打 TMDB
+    NEGATIVE;
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,117 @@
+package com.brian.tmov.client.metrics;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TmdbClient 的 Micrometer 指標 (依端點樣板分類，例如 movie/{id}、discover/tv)
+ *
+ * tmdb.client.requests           呼叫端看到的延遲 (含快取)，標籤 endpoint / status / cache
+ * tmdb.client.upstream           實際送到 TMDB 的延遲，標籤 endpoint / status
+ * tmdb.client.upstream.payload   TMDB 回應大小 (解壓縮後)，標籤 endpoint
+ * tmdb.client.upstream.inflight  各端點進行中的 TMDB 請求數
+ * tmdb.client.retries            重試次數，標籤 endpoint / outcome (retried、budget_exhausted、retry_after_too_long)
+ *
+ * 延遲皆發佈 percentile histogram，可在 Prometheus 以 histogram_quantile 計算 p95/p99
+ */
+@Component
+public class TmdbClientMetrics {
+
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofMillis(1);
+
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+
+    // Meter 依標籤組合快取，避免每次請求都經過 builder 與 registry 查詢
+    private final Map<MeterKey, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, Timer> upstreamTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, DistributionSummary> payloadSummaries = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<RetryKey, Counter> retryCounters = new ConcurrentHashMap<>();
+
+    public TmdbClientMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordRequest(TmdbRequestKey key, TmdbCacheOutcome cache, int status, long startNanos) {
+        MeterKey meterKey = new MeterKey(key.endpoint(), statusClass(status), cache.tagValue());
+        requestTimers.computeIfAbsent(meterKey, k -> Timer.builder("tmdb.client.requests")
+                        .description("TmdbClient 請求延遲 (含快取)")
+                        .tags(Tags.of("endpoint", k.endpoint(), "status", k.status(), "cache", k.cache()))
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                        .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUpstream(TmdbRequestKey key, int status, int payloadBytes, long startNanos) {
+        String endpoint = key.endpoint();
+        MeterKey meterKey = new MeterKey(endpoint, statusClass(status), null);
+        upstreamTimers.computeIfAbsent(meterKey, k -> Timer.builder("tmdb.client.upstream")
+                        .description("TMDB API 實際回應延遲")
+                        .tags(Tags.of("endpoint", k.endpoint(), "status", k.status()))
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                        .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                        .register(registry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        if (payloadBytes > 0) {
+            payloadSummaries.computeIfAbsent(endpoint, e -> DistributionSummary.builder("tmdb.client.upstream.payload")
+                            .description("TMDB 回應大小")
+                            .baseUnit("bytes")
+                            .tag("endpoint", e)
+                            .register(registry))
+                    .record(payloadBytes);
+        }
+    }
+
+    public void recordRetry(TmdbRequestKey key, String outcome) {
+        retryCounters.computeIfAbsent(new RetryKey(key.endpoint(), outcome), k -> Counter.builder("tmdb.client.retries")
+                        .description("TMDB 請求重試")
+                        .tags(Tags.of("endpoint", k.endpoint(), "outcome", k.outcome()))
+                        .register(registry))
+                .increment();
+    }
+
+//    取得端點的進行中計數器 (第一次使用時註冊 gauge)
+    public AtomicInteger upstreamInFlight(TmdbRequestKey key) {
+        return inFlight.computeIfAbsent(key.endpoint(), endpoint -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("tmdb.client.upstream.inflight", counter, AtomicInteger::get)
+                    .description("進行中的 TMDB 請求數")
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            return counter;
+        });
+    }
+
+    // 0 代表沒有取得回應 (逾時、連線失敗、斷路器開啟等)
+    private static String statusClass(int status) {
+        return (status <= 0) ? "none" : (status / 100) + "xx";
+    }
+
+    private record MeterKey(String endpoint, String status, String cache) {
+    }
+
+    private record RetryKey(String endpoint, String outcome) {
+    }
+}
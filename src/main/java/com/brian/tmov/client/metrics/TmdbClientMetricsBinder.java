@@ -0,0 +1,161 @@
+package com.brian.tmov.client.metrics;
+
+import com.brian.tmov.client.TmdbRequestCoalescer;
+import com.brian.tmov.client.cache.TmdbCacheStats;
+import com.brian.tmov.client.cache.TmdbDiskCache;
+import com.brian.tmov.client.cache.TmdbMissingTitleCache;
+import com.brian.tmov.client.cache.TmdbResponseCache;
+import com.brian.tmov.client.cache.TmdbSnapshotStore;
+import com.brian.tmov.client.resilience.TmdbCircuitBreaker;
+import com.brian.tmov.client.resilience.TmdbCircuitBreakerRegistry;
+import com.brian.tmov.client.resilience.TmdbHedgingPolicy;
+import com.brian.tmov.client.resilience.TmdbOutboundLimiter;
+import com.brian.tmov.client.transport.TmdbTransport;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// 將 TMDB 用戶端各元件既有的統計數字 (快取、限流、斷路器、傳輸層等) 註冊成 Micrometer 指標
+@Component
+public class TmdbClientMetricsBinder implements MeterBinder {
+
+    private final TmdbResponseCache responseCache;
+
+    private final TmdbSnapshotStore snapshotStore;
+
+    private final TmdbMissingTitleCache missingTitles;
+
+    private final TmdbRequestCoalescer requestCoalescer;
+
+    private final TmdbOutboundLimiter outboundLimiter;
+
+    private final TmdbCircuitBreakerRegistry circuitBreakers;
+
+    private final TmdbHedgingPolicy hedgingPolicy;
+
+    private final TmdbTransport transport;
+
+    private final ObjectProvider<TmdbDiskCache> diskCache;
+
+    public TmdbClientMetricsBinder(
+            TmdbResponseCache responseCache,
+            TmdbSnapshotStore snapshotStore,
+            TmdbMissingTitleCache missingTitles,
+            TmdbRequestCoalescer requestCoalescer,
+            TmdbOutboundLimiter outboundLimiter,
+            TmdbCircuitBreakerRegistry circuitBreakers,
+            TmdbHedgingPolicy hedgingPolicy,
+            TmdbTransport transport,
+            ObjectProvider<TmdbDiskCache> diskCache
+    ) {
+        this.responseCache = responseCache;
+        this.snapshotStore = snapshotStore;
+        this.missingTitles = missingTitles;
+        this.requestCoalescer = requestCoalescer;
+        this.outboundLimiter = outboundLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.hedgingPolicy = hedgingPolicy;
+        this.transport = transport;
+        this.diskCache = diskCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // 行程內快取
+        cacheCounter(registry, "hit", TmdbCacheStats::hitCount);
+        cacheCounter(registry, "stale", TmdbCacheStats::staleHitCount);
+        cacheCounter(registry, "miss", TmdbCacheStats::missCount);
+        FunctionCounter.builder("tmdb.cache.evictions", responseCache, c -> c.stats().evictionCount())
+                .register(registry);
+        Gauge.builder("tmdb.cache.entries", responseCache, c -> c.stats().entryCount())
+                .register(registry);
+        Gauge.builder("tmdb.cache.size", responseCache, c -> c.stats().weightBytes())
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("tmdb.cache.snapshots", snapshotStore, TmdbSnapshotStore::size)
+                .register(registry);
+        Gauge.builder("tmdb.cache.missing.titles", missingTitles, TmdbMissingTitleCache::size)
+                .register(registry);
+
+        // 磁碟快取
+        TmdbDiskCache disk = diskCache.getIfAvailable();
+        if (disk != null) {
+            FunctionCounter.builder("tmdb.cache.disk.requests", disk, TmdbDiskCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("tmdb.cache.disk.requests", disk, TmdbDiskCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("tmdb.cache.disk.entries", disk, TmdbDiskCache::getEntryCount)
+                    .register(registry);
+            Gauge.builder("tmdb.cache.disk.size", disk, TmdbDiskCache::getDiskBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+
+        // 請求合併
+        FunctionCounter.builder("tmdb.client.coalescer.executions", requestCoalescer, TmdbRequestCoalescer::getExecutionCount)
+                .register(registry);
+        FunctionCounter.builder("tmdb.client.coalescer.collapsed", requestCoalescer, TmdbRequestCoalescer::getCollapsedCount)
+                .register(registry);
+        Gauge.builder("tmdb.client.coalescer.inflight", requestCoalescer, TmdbRequestCoalescer::getInFlightCount)
+                .register(registry);
+
+        // 對外流量限制
+        Gauge.builder("tmdb.client.limiter.limit", outboundLimiter, TmdbOutboundLimiter::getLimit)
+                .register(registry);
+        Gauge.builder("tmdb.client.limiter.inflight", outboundLimiter, TmdbOutboundLimiter::getInFlight)
+                .register(registry);
+        Gauge.builder("tmdb.client.limiter.queue", outboundLimiter, TmdbOutboundLimiter::getQueueDepth)
+                .register(registry);
+        Gauge.builder("tmdb.client.limiter.tokens", outboundLimiter, TmdbOutboundLimiter::getAvailableTokens)
+                .register(registry);
+        FunctionCounter.builder("tmdb.client.limiter.rejected", outboundLimiter, TmdbOutboundLimiter::getRejectedCount)
+                .register(registry);
+
+        // 斷路器 (開啟中的端點數)
+        for (TmdbCircuitBreaker.State state : TmdbCircuitBreaker.State.values()) {
+            Gauge.builder("tmdb.client.circuit.breakers", circuitBreakers,
+                            r -> r.getStates().values().stream().filter(s -> s == state).count())
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+
+        // 對沖請求
+        FunctionCounter.builder("tmdb.client.hedging.hedged", hedgingPolicy, TmdbHedgingPolicy::getHedgedCount)
+                .register(registry);
+        FunctionCounter.builder("tmdb.client.hedging.wins", hedgingPolicy, TmdbHedgingPolicy::getHedgeWinCount)
+                .register(registry);
+        FunctionCounter.builder("tmdb.client.hedging.budget.exhausted", hedgingPolicy, TmdbHedgingPolicy::getBudgetExhaustedCount)
+                .register(registry);
+
+        // 傳輸層
+        Gauge.builder("tmdb.transport.inflight", transport, t -> t.stats().inFlight())
+                .register(registry);
+        FunctionCounter.builder("tmdb.transport.requests", transport, t -> t.stats().requestCount())
+                .register(registry);
+        FunctionCounter.builder("tmdb.transport.failures", transport, t -> t.stats().failureCount())
+                .register(registry);
+        FunctionCounter.builder("tmdb.transport.http2", transport, t -> t.stats().http2Count())
+                .register(registry);
+        FunctionCounter.builder("tmdb.transport.bytes", transport, t -> t.stats().wireBytes())
+                .tag("encoding", "wire")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("tmdb.transport.bytes", transport, t -> t.stats().decodedBytes())
+                .tag("encoding", "decoded")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void cacheCounter(MeterRegistry registry, String result, ToDoubleFunction<TmdbCacheStats> value) {
+        FunctionCounter.builder("tmdb.cache.requests", responseCache, c -> value.applyAsDouble(c.stats()))
+                .tag("result", result)
+                .register(registry);
+    }
+}
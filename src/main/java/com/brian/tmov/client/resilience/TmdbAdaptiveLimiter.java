@@ -0,0 +1,143 @@
+package com.brian.tmov.client.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD 自適應併發上限 (參考 TCP Vegas 以延遲判斷壅塞)
+ * - 成功且延遲正常：上限緩慢增加 (每一輪 +1)
+ * - 錯誤、429 或延遲明顯高於基準：上限依比例縮減
+ */
+public class TmdbAdaptiveLimiter {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double latencyTolerance;
+
+    private final double decreaseFactor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition available = lock.newCondition();
+
+    private double estimatedLimit;
+
+    private int inFlight;
+
+    private int waiting;
+
+    // 觀察到的最低延遲，作為「沒有排隊」的基準 (會緩慢上調，避免被單一極端值綁住)
+    private long baselineRttNanos = Long.MAX_VALUE;
+
+    public TmdbAdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double decreaseFactor) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.latencyTolerance = latencyTolerance;
+        this.decreaseFactor = decreaseFactor;
+        this.estimatedLimit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+    }
+
+//    取得執行許可，在 deadline 前取不到則回傳 false
+    public boolean acquire(long deadlineNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (inFlight >= currentLimit()) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) return false;
+                    available.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+//    歸還許可並回報這次請求的結果
+    public void release(long rttNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            inFlight--;
+
+            if (overloaded) {
+                decrease();
+            } else if (rttNanos > 0) {
+                baselineRttNanos = Math.min(rttNanos, baselineRttNanos + (baselineRttNanos >> 10));
+
+                if (rttNanos > baselineRttNanos * latencyTolerance) {
+                    decrease();
+                } else if (inFlight + 1 >= currentLimit() / 2) {
+                    // 只有實際用到一半以上的額度時才擴張，避免閒置時上限無限制成長
+                    estimatedLimit = Math.min(maxLimit, estimatedLimit + 1.0 / estimatedLimit);
+                }
+            }
+
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+//    取得許可後卻沒有送出請求 (例如等不到 token) 時歸還，不影響上限
+    public void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getBaselineRttMillis() {
+        lock.lock();
+        try {
+            return baselineRttNanos == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(baselineRttNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) estimatedLimit;
+    }
+
+    private void decrease() {
+        estimatedLimit = Math.max(minLimit, estimatedLimit * decreaseFactor);
+    }
+}
@@ -0,0 +1,123 @@
+package com.brian.tmov.client.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 單一端點類別的斷路器 (以最近 N 次呼叫的失敗率判斷)
+ * CLOSED -> 失敗率超過門檻 -> OPEN -> 經過 open-duration -> HALF_OPEN -> 試探成功 -> CLOSED
+ */
+@Slf4j
+public class TmdbCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+
+    private final TmdbCircuitBreakerProperties properties;
+
+    // 環狀紀錄最近的呼叫結果，true 表示失敗
+    private final boolean[] window;
+
+    private int windowIndex;
+
+    private int windowCount;
+
+    private int failureCount;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    private int halfOpenInFlight;
+
+    private int halfOpenSuccesses;
+
+    public TmdbCircuitBreaker(String name, TmdbCircuitBreakerProperties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.window = new boolean[Math.max(1, properties.getWindowSize())];
+    }
+
+//    是否允許送出請求
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < properties.getOpenDuration().toMillis()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= properties.getHalfOpenCalls()) return false;
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+            if (++halfOpenSuccesses >= properties.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+
+        if (state == State.CLOSED
+                && windowCount >= properties.getMinimumCalls()
+                && (double) failureCount / windowCount >= properties.getFailureRateThreshold()) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+//    請求沒有真的送到 TMDB (例如本地限流)，不列入統計
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) halfOpenInFlight--;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) failureCount--;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) failureCount++;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("TMDB 斷路器 [{}] 狀態變更: {} -> {}", name, state, next);
+        state = next;
+
+        switch (next) {
+            case OPEN -> openedAt = System.currentTimeMillis();
+            case HALF_OPEN -> {
+                halfOpenInFlight = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                failureCount = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.brian.tmov.client.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tmdb.circuit-breaker")
+public class TmdbCircuitBreakerProperties {
+
+    private boolean enabled = true;
+
+    // 以最近幾次呼叫計算失敗率
+    private int windowSize = 20;
+
+    // 至少累積幾次呼叫才開始判斷
+    private int minimumCalls = 10;
+
+    // 失敗率達到多少就開啟斷路器
+    private double failureRateThreshold = 0.5;
+
+    // 開啟後多久進入半開狀態試探
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    // 半開狀態允許的試探請求數，全部成功才關閉
+    private int halfOpenCalls = 3;
+
+    // 最後一次成功回應的保留時間與容量 (斷路器開啟或請求失敗時的備援)
+    private Duration snapshotRetention = Duration.ofHours(24);
+
+    private DataSize snapshotMaximumSize = DataSize.ofMegabytes(32);
+}
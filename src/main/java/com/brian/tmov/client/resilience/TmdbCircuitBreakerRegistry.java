@@ -0,0 +1,69 @@
+package com.brian.tmov.client.resilience;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.exception.DownstreamException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 依端點類別 (例如 "movie/{id}"、"discover/tv") 各自維護一個斷路器
+ * 某類端點故障時只有該類端點快速失敗，不影響其他端點
+ */
+@Component
+public class TmdbCircuitBreakerRegistry {
+
+    private final TmdbCircuitBreakerProperties properties;
+
+    private final Map<String, TmdbCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public TmdbCircuitBreakerRegistry(TmdbCircuitBreakerProperties properties) {
+        this.properties = properties;
+    }
+
+    public <T> T execute(TmdbRequestKey key, Supplier<T> call) {
+        if (!properties.isEnabled()) return call.get();
+
+        String endpoint = key.endpoint();
+        TmdbCircuitBreaker breaker = breakers.computeIfAbsent(endpoint, name -> new TmdbCircuitBreaker(name, properties));
+
+        if (!breaker.tryAcquire()) {
+            throw new TmdbCircuitOpenException("TMDB 服務暫時無法使用 (斷路器開啟): " + endpoint);
+        }
+
+        try {
+            T result = call.get();
+            breaker.onSuccess();
+            return result;
+        } catch (TmdbLimitExceededException e) {
+            breaker.onIgnored();
+            throw e;
+        } catch (DownstreamException e) {
+            if (isFailure(e)) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.onFailure();
+            throw e;
+        }
+    }
+
+//    各端點類別目前的斷路器狀態
+    public Map<String, TmdbCircuitBreaker.State> getStates() {
+        Map<String, TmdbCircuitBreaker.State> states = new TreeMap<>();
+        breakers.forEach((name, breaker) -> states.put(name, breaker.getState()));
+        return states;
+    }
+
+    // 沒有回應、429 與 5xx 視為 TMDB 端的問題；404 等一般 4xx 代表 TMDB 運作正常
+    private boolean isFailure(DownstreamException e) {
+        int status = e.getStatus();
+        return status == 0 || status == 429 || status >= 500;
+    }
+}
@@ -0,0 +1,11 @@
+package com.brian.tmov.client.resilience;
+
+import com.brian.tmov.exception.DownstreamException;
+
+// 斷路器開啟中，請求未送出直接失敗
+public class TmdbCircuitOpenException extends DownstreamException {
+
+    public TmdbCircuitOpenException(String message) {
+        super(message);
+    }
+}
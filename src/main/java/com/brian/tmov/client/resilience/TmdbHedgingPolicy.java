@@ -0,0 +1,133 @@
+package com.brian.tmov.client.resilience;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.exception.DownstreamException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 對沖請求 (hedged request)
+ * 第一個請求超過近期延遲的 p95 仍未回應時，再送出一個相同的請求，先成功的勝出，另一個取消
+ * 只用於設定中的冪等 GET 端點，並受對沖預算限制，避免在 TMDB 變慢時把流量加倍
+ */
+@Slf4j
+@Component
+public class TmdbHedgingPolicy {
+
+    private static final int LATENCY_SAMPLES = 256;
+
+    private final TmdbHedgingProperties properties;
+
+    private final TmdbRequestBudget budget;
+
+    private final Map<String, TmdbLatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder hedged = new LongAdder();
+
+    private final LongAdder hedgeWins = new LongAdder();
+
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public TmdbHedgingPolicy(TmdbHedgingProperties properties) {
+        this.properties = properties;
+        this.budget = new TmdbRequestBudget(properties.getBudgetRatio(), properties.getBudgetMaxBalance());
+    }
+
+    public <T> T execute(TmdbRequestKey key, Supplier<T> attempt) {
+        String endpoint = key.endpoint();
+        if (!properties.isEnabled() || !properties.getEndpoints().contains(endpoint)) {
+            return attempt.get();
+        }
+
+        budget.deposit();
+        TmdbLatencyWindow window = latencies.computeIfAbsent(endpoint, e -> new TmdbLatencyWindow(LATENCY_SAMPLES));
+        long delayNanos = hedgeDelayNanos(window);
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        Future<T> primary = completion.submit(() -> timed(attempt, window));
+        Future<T> hedge = null;
+
+        try {
+            Future<T> first = completion.poll(delayNanos, TimeUnit.NANOSECONDS);
+
+            if (first == null) {
+                if (budget.tryWithdraw()) {
+                    hedged.increment();
+                    hedge = completion.submit(() -> timed(attempt, window));
+                } else {
+                    budgetExhausted.increment();
+                }
+                first = completion.take();
+            }
+
+            try {
+                T result = first.get();
+                if (first == hedge) hedgeWins.increment();
+                return result;
+            } catch (ExecutionException e) {
+                // 先完成的失敗了，若另一個還在跑就等它
+                if (hedge == null) throw unwrap(e);
+                try {
+                    Future<T> second = completion.take();
+                    T result = second.get();
+                    if (second == hedge) hedgeWins.increment();
+                    return result;
+                } catch (ExecutionException ignored) {
+                    throw unwrap(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamException("等待 TMDB 回應時被中斷: " + key.path(), e);
+        } finally {
+            // 取消仍在進行中的請求 (已完成的不受影響)
+            primary.cancel(true);
+            if (hedge != null) hedge.cancel(true);
+        }
+    }
+
+    public long getHedgedCount() {
+        return hedged.sum();
+    }
+
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private long hedgeDelayNanos(TmdbLatencyWindow window) {
+        long delay = window.count() >= properties.getMinSamples()
+                ? window.percentile(properties.getPercentile())
+                : properties.getInitialDelay().toNanos();
+        return Math.max(delay, properties.getMinDelay().toNanos());
+    }
+
+    private <T> T timed(Supplier<T> attempt, TmdbLatencyWindow window) {
+        long start = System.nanoTime();
+        T result = attempt.get();
+        window.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) return runtimeException;
+        return new DownstreamException("呼叫 TMDB API 失敗", cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.brian.tmov.client.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tmdb.hedging")
+public class TmdbHedgingProperties {
+
+    // 預設關閉，需明確開啟
+    private boolean enabled = false;
+
+    // 允許對沖的端點樣板 (皆為冪等的 GET)
+    private List<String> endpoints = new ArrayList<>(List.of(
+            "movie/{id}", "tv/{id}", "person/{id}", "movie/{id}/videos", "tv/{id}/videos"
+    ));
+
+    // 以近期延遲的第幾百分位作為送出第二個請求的等待時間
+    private double percentile = 0.95;
+
+    // 樣本不足前使用的等待時間
+    private Duration initialDelay = Duration.ofMillis(800);
+
+    // 等待時間下限，避免太早對沖
+    private Duration minDelay = Duration.ofMillis(50);
+
+    // 至少累積幾筆樣本才改用百分位延遲
+    private int minSamples = 20;
+
+    // 對沖預算：每個請求累積的額度 (0.1 表示對沖請求最多約佔 10%)
+    private double budgetRatio = 0.1;
+
+    // 預算最多累積多少次對沖
+    private int budgetMaxBalance = 10;
+}
@@ -0,0 +1,37 @@
+package com.brian.tmov.client.resilience;
+
+import java.util.Arrays;
+
+// 保留最近 N 筆延遲樣本，用來計算百分位
+public class TmdbLatencyWindow {
+
+    private final long[] samples;
+
+    private int index;
+
+    private int count;
+
+    public TmdbLatencyWindow(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) count++;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+//    回傳第 p 百分位的延遲 (nanos)，沒有樣本時回傳 -1
+    public synchronized long percentile(double p) {
+        if (count == 0) return -1;
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p * count) - 1;
+        return sorted[Math.clamp(rank, 0, count - 1)];
+    }
+}
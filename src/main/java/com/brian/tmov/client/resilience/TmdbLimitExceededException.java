@@ -0,0 +1,11 @@
+package com.brian.tmov.client.resilience;
+
+import com.brian.tmov.exception.DownstreamException;
+
+// 本地端流量限制造成的失敗 (請求根本沒有送到 TMDB)
+public class TmdbLimitExceededException extends DownstreamException {
+
+    public TmdbLimitExceededException(String message) {
+        super(message);
+    }
+}
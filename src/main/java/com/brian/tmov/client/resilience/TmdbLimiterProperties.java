@@ -0,0 +1,37 @@
+package com.brian.tmov.client.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tmdb.limiter")
+public class TmdbLimiterProperties {
+
+    private boolean enabled = true;
+
+    // Token bucket：TMDB 公告上限約每秒 50 個請求，預設保留一些緩衝
+    private double ratePerSecond = 40;
+
+    // 允許的瞬間突發量
+    private int burst = 40;
+
+    // 同時進行中的請求數 (AIMD 自動調整)
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 100;
+
+    // 延遲超過基準延遲的幾倍視為壅塞
+    private double latencyTolerance = 2.0;
+
+    // 壅塞或錯誤時的縮減比例
+    private double decreaseFactor = 0.75;
+
+    // 排隊等待的最長時間，超過就放棄
+    private Duration queueTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,114 @@
+package com.brian.tmov.client.resilience;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.exception.DownstreamException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 所有送往 TMDB 的請求共用的對外流量限制
+ * 1. 自適應併發上限 (AIMD)：限制同時進行中的請求數，TMDB 變慢或出錯時自動縮減
+ * 2. Token bucket：限制每秒請求數，對齊 TMDB 的速率上限
+ * 兩者都取得後才會真正送出請求，排隊超過 queue-timeout 則丟出 TmdbLimitExceededException
+ */
+@Slf4j
+@Component
+public class TmdbOutboundLimiter {
+
+    private final TmdbLimiterProperties properties;
+
+    private final TmdbTokenBucket tokenBucket;
+
+    private final TmdbAdaptiveLimiter concurrencyLimiter;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public TmdbOutboundLimiter(TmdbLimiterProperties properties) {
+        this.properties = properties;
+        this.tokenBucket = new TmdbTokenBucket(properties.getRatePerSecond(), properties.getBurst());
+        this.concurrencyLimiter = new TmdbAdaptiveLimiter(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getLatencyTolerance(),
+                properties.getDecreaseFactor()
+        );
+    }
+
+    public <T> T execute(TmdbRequestKey key, Supplier<T> call) {
+        if (!properties.isEnabled()) return call.get();
+
+        acquire(key);
+
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return call.get();
+        } catch (DownstreamException e) {
+            // 被取消的請求 (例如對沖輸家) 不代表 TMDB 壅塞
+            overloaded = isOverloadSignal(e) && !Thread.currentThread().isInterrupted();
+            throw e;
+        } catch (RuntimeException e) {
+            overloaded = true;
+            throw e;
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start, overloaded);
+        }
+    }
+
+    public int getLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
+    public int getInFlight() {
+        return concurrencyLimiter.getInFlight();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getAvailableTokens() {
+        return tokenBucket.availableTokens();
+    }
+
+    private void acquire(TmdbRequestKey key) {
+        long deadline = System.nanoTime() + properties.getQueueTimeout().toNanos();
+        boolean gotPermit = false;
+        boolean permitted = false;
+
+        queueDepth.incrementAndGet();
+        try {
+            gotPermit = concurrencyLimiter.acquire(deadline);
+            permitted = gotPermit && tokenBucket.acquire(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamException("等待 TMDB 請求額度時被中斷: " + key.path(), e);
+        } finally {
+            queueDepth.decrementAndGet();
+            if (gotPermit && !permitted) concurrencyLimiter.cancel();
+        }
+
+        if (!permitted) {
+            rejected.increment();
+            log.warn("TMDB 對外請求排隊逾時 (limit={}, queue={}): {}", getLimit(), getQueueDepth(), key.path());
+            throw new TmdbLimitExceededException("TMDB 請求過多，請稍後再試: " + key.path());
+        }
+    }
+
+    // 429、5xx 或沒有回應視為壅塞訊號；其他 4xx (例如 404) 代表 TMDB 正常回應
+    private boolean isOverloadSignal(DownstreamException e) {
+        int status = e.getStatus();
+        return status == 0 || status == 429 || status >= 500;
+    }
+}
@@ -0,0 +1,34 @@
+package com.brian.tmov.client.resilience;
+
+/**
+ * 額外請求 (對沖、重試) 的預算
+ * 每個一般請求存入 ratio 額度，每次額外請求花掉 1，藉此把額外流量限制在一般流量的固定比例內
+ */
+public class TmdbRequestBudget {
+
+    private final double ratio;
+
+    private final double maxBalance;
+
+    private double balance;
+
+    public TmdbRequestBudget(double ratio, int maxBalance) {
+        this.ratio = ratio;
+        this.maxBalance = Math.max(1, maxBalance);
+        this.balance = this.maxBalance;
+    }
+
+    public synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (balance < 1) return false;
+        balance -= 1;
+        return true;
+    }
+
+    public synchronized double getBalance() {
+        return balance;
+    }
+}
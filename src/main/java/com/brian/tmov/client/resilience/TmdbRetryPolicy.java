@@ -0,0 +1,141 @@
+package com.brian.tmov.client.resilience;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.client.metrics.TmdbClientMetrics;
+import com.brian.tmov.exception.DownstreamException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * TMDB GET 請求的重試 (皆為冪等)
+ * - decorrelated jitter 退避：sleep = min(maxDelay, random(baseDelay, 上一次 sleep * 3))
+ * - TMDB 回傳 Retry-After 時至少等待該時間，超過 max-retry-after 則直接失敗
+ * - 與對沖相同的預算機制，重試最多約佔一般請求的 budget-ratio，避免在 TMDB 故障時放大流量
+ * - 斷路器開啟、本地限流拒絕等未送出的請求不重試
+ */
+@Slf4j
+@Component
+public class TmdbRetryPolicy {
+
+    private final TmdbRetryProperties properties;
+
+    private final TmdbRequestBudget budget;
+
+    private final TmdbClientMetrics metrics;
+
+    // 各端點樣板的重試次數
+    private final Map<String, LongAdder> retries = new ConcurrentHashMap<>();
+
+    private final LongAdder budgetExhausted = new LongAdder();
+
+    public TmdbRetryPolicy(TmdbRetryProperties properties, TmdbClientMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.budget = new TmdbRequestBudget(properties.getBudgetRatio(), properties.getBudgetMaxBalance());
+    }
+
+    public <T> T execute(TmdbRequestKey key, Supplier<T> attempt) {
+        if (!properties.isEnabled() || properties.getMaxAttempts() <= 1) {
+            return attempt.get();
+        }
+
+        budget.deposit();
+        long baseNanos = properties.getBaseDelay().toNanos();
+        long sleepNanos = baseNanos;
+
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (DownstreamException e) {
+                if (!isRetryable(e) || attemptNumber >= properties.getMaxAttempts()) throw e;
+
+                Duration retryAfter = e.getRetryAfter();
+                if (retryAfter != null && retryAfter.compareTo(properties.getMaxRetryAfter()) > 0) {
+                    metrics.recordRetry(key, "retry_after_too_long");
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    budgetExhausted.increment();
+                    metrics.recordRetry(key, "budget_exhausted");
+                    throw e;
+                }
+
+                sleepNanos = nextSleepNanos(baseNanos, sleepNanos);
+                if (retryAfter != null) sleepNanos = Math.max(sleepNanos, retryAfter.toNanos());
+
+                retries.computeIfAbsent(key.endpoint(), endpoint -> new LongAdder()).increment();
+                metrics.recordRetry(key, "retried");
+                log.debug("重試 TMDB 請求 ({}/{})，等待 {} ms: {} ({})",
+                        attemptNumber + 1, properties.getMaxAttempts(), sleepNanos / 1_000_000, key, e.getMessage());
+
+                sleep(key, sleepNanos, e);
+            }
+        }
+    }
+
+//    各端點樣板的累計重試次數
+    public Map<String, Long> getRetryCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        retries.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return counts;
+    }
+
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+//    解析 Retry-After (秒數或 HTTP 日期)，無法解析時回傳 null
+    public static Duration parseRetryAfter(HttpHeaders headers) {
+        String value = (headers != null) ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) return null;
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // 不是秒數，改以 HTTP 日期解析
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration wait = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            return wait.isNegative() ? Duration.ZERO : wait;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // 本地拒絕 (斷路器、限流) 不是 TMDB 的錯誤，重試也不會成功
+    private boolean isRetryable(DownstreamException e) {
+        if (e instanceof TmdbCircuitOpenException || e instanceof TmdbLimitExceededException) return false;
+        if (Thread.currentThread().isInterrupted()) return false;
+
+        int status = e.getStatus();
+        return status == 0 || properties.getRetryableStatuses().contains(status);
+    }
+
+    private long nextSleepNanos(long baseNanos, long previousNanos) {
+        long upper = Math.max(baseNanos + 1, previousNanos * 3);
+        long next = ThreadLocalRandom.current().nextLong(baseNanos, upper);
+        return Math.min(properties.getMaxDelay().toNanos(), next);
+    }
+
+    private void sleep(TmdbRequestKey key, long nanos, DownstreamException cause) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamException("等待重試 TMDB 請求時被中斷: " + key.path(), cause.getStatus(), cause);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.brian.tmov.client.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tmdb.retry")
+public class TmdbRetryProperties {
+
+    private boolean enabled = true;
+
+    // 含第一次請求在內的最多嘗試次數
+    private int maxAttempts = 3;
+
+    // 退避的起始等待時間
+    private Duration baseDelay = Duration.ofMillis(100);
+
+    // 單次等待上限
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    // TMDB 要求等待超過此時間就不重試，直接失敗
+    private Duration maxRetryAfter = Duration.ofSeconds(5);
+
+    // 可重試的狀態碼 (沒有回應的連線失敗、逾時一律可重試)
+    private Set<Integer> retryableStatuses = new LinkedHashSet<>(Set.of(429, 500, 502, 503, 504));
+
+    // 重試預算：每個請求累積的額度 (0.1 表示重試最多約佔 10%)
+    private double budgetRatio = 0.1;
+
+    // 預算最多累積多少次重試
+    private int budgetMaxBalance = 10;
+}
@@ -0,0 +1,64 @@
+package com.brian.tmov.client.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket 速率限制
+ * 取不到 token 時會預約下一個 token 並睡到輪到自己為止，預估等待時間超過期限則直接放棄
+ */
+public class TmdbTokenBucket {
+
+    private final double tokensPerNano;
+
+    private final double capacity;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    public TmdbTokenBucket(double ratePerSecond, int burst) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.tokens = this.capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+//    取得一個 token，在 deadline 前取不到則回傳 false
+    public boolean acquire(long deadlineNanos) throws InterruptedException {
+        long waitNanos = reserve(deadlineNanos);
+        if (waitNanos < 0) return false;
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        refill(System.nanoTime());
+        return Math.max(0, tokens);
+    }
+
+    // 回傳需要等待的時間，-1 表示無法在期限內取得
+    private synchronized long reserve(long deadlineNanos) {
+        long now = System.nanoTime();
+        refill(now);
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+
+        // token 可以是負數，代表已經被預約走的未來額度
+        long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (now + waitNanos > deadlineNanos) return -1;
+
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.brian.tmov.client.transport;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.exception.DownstreamException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 以 JDK HttpClient 實作的傳輸層
+ * - HTTP/2：同一條 TLS 連線上多工處理所有請求，不需要每次握手
+ * - HTTP/1.1 時由 HttpClient 內建連線池維持 keep-alive
+ * - 要求 gzip 壓縮並自行解壓 (JDK HttpClient 不會自動處理)
+ * - 以虛擬執行緒處理非同步工作，並套用連線與單一請求逾時
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tmdb.transport.type", havingValue = "jdk", matchIfMissing = true)
+public class JdkHttpTmdbTransport implements TmdbTransport {
+
+    private final String baseUrl;
+
+    private final String authorization;
+
+    private final TmdbTransportProperties properties;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final HttpClient httpClient;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder http2Responses = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder wireBytes = new LongAdder();
+
+    private final LongAdder decodedBytes = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public JdkHttpTmdbTransport(
+            @Value("${tmdb.bearer-token}") String bearerToken,
+            @Value("${tmdb.base-url}") String baseUrl,
+            TmdbTransportProperties properties
+    ) {
+        this.baseUrl = baseUrl;
+        this.authorization = "Bearer " + bearerToken;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+
+        log.info("TMDB 傳輸層: JDK HttpClient (HTTP/2={}, gzip={})", properties.isHttp2(), properties.isCompression());
+    }
+
+    @Override
+    public TmdbHttpResponse exchange(TmdbRequestKey key, HttpHeaders extraHeaders) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(key.toUri(baseUrl))
+                .GET()
+                .timeout(properties.timeoutFor(key))
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+        if (properties.isCompression()) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        extraHeaders.forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+
+        requests.increment();
+        inFlight.incrementAndGet();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.version() == HttpClient.Version.HTTP_2) http2Responses.increment();
+
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+
+            byte[] body = decode(response.body(), headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            return new TmdbHttpResponse(response.statusCode(), headers, body);
+        } catch (IOException e) {
+            failures.increment();
+            throw new DownstreamException("呼叫 TMDB API 失敗: " + key.path(), e);
+        } catch (InterruptedException e) {
+            failures.increment();
+            Thread.currentThread().interrupt();
+            throw new DownstreamException("呼叫 TMDB API 被中斷: " + key.path(), e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public TmdbTransportStats stats() {
+        return new TmdbTransportStats(
+                requests.sum(),
+                inFlight.get(),
+                http2Responses.sum(),
+                failures.sum(),
+                wireBytes.sum(),
+                decodedBytes.sum()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private byte[] decode(byte[] raw, String contentEncoding) throws IOException {
+        if (raw == null) return new byte[0];
+        wireBytes.add(raw.length);
+
+        byte[] body = raw;
+        if (contentEncoding != null && contentEncoding.toLowerCase().contains("gzip")) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+                body = in.readAllBytes();
+            }
+        }
+        decodedBytes.add(body.length);
+        return body;
+    }
+}
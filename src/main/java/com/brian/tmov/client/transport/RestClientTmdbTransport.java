@@ -0,0 +1,76 @@
+package com.brian.tmov.client.transport;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.exception.DownstreamException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 原本的 RestClient 預設實作 (tmdb.transport.type=rest-client)，保留作為比較基準與備用
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tmdb.transport.type", havingValue = "rest-client")
+public class RestClientTmdbTransport implements TmdbTransport {
+
+    private final RestClient restClient;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder bytes = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RestClientTmdbTransport(
+            @Value("${tmdb.bearer-token}") String bearerToken,
+            @Value("${tmdb.base-url}") String baseUrl
+    ) {
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader("Authorization", "Bearer " + bearerToken)
+                .defaultHeader("Content-Type", "application/json")
+                .build();
+
+        log.info("TMDB 傳輸層: RestClient (預設 request factory)");
+    }
+
+    @Override
+    public TmdbHttpResponse exchange(TmdbRequestKey key, HttpHeaders extraHeaders) {
+        requests.increment();
+        inFlight.incrementAndGet();
+        try {
+            TmdbHttpResponse response = restClient.get()
+                    .uri(key.toUriString())
+                    .headers(headers -> headers.addAll(extraHeaders))
+                    .exchange((request, clientResponse) -> {
+                        HttpHeaders headers = new HttpHeaders();
+                        headers.addAll(clientResponse.getHeaders());
+                        return new TmdbHttpResponse(
+                                clientResponse.getStatusCode().value(),
+                                headers,
+                                clientResponse.getBody().readAllBytes()
+                        );
+                    });
+            bytes.add(response.body().length);
+            return response;
+        } catch (RestClientException e) {
+            failures.increment();
+            throw new DownstreamException("呼叫 TMDB API 失敗: " + key.path(), e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public TmdbTransportStats stats() {
+        return new TmdbTransportStats(requests.sum(), inFlight.get(), 0, failures.sum(), bytes.sum(), bytes.sum());
+    }
+}
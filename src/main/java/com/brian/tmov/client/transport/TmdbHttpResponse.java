@@ -0,0 +1,27 @@
+package com.brian.tmov.client.transport;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * @param status  HTTP 狀態碼
+ * @param headers 回應標頭
+ * @param body    回應內容 (已解壓縮)
+ */
+public record TmdbHttpResponse(
+
+        int status,
+
+        HttpHeaders headers,
+
+        byte[] body
+) {
+
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+//    304：內容未變更，沿用快取中的內容
+    public boolean isNotModified() {
+        return status == 304;
+    }
+}
@@ -0,0 +1,19 @@
+package com.brian.tmov.client.transport;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import org.springframework.http.HttpHeaders;
+
+public interface TmdbTransport {
+
+//    送出 GET 請求並回傳原始回應 (任何狀態碼都會回傳)
+//    沒有取得回應 (連線失敗、逾時) 時丟出 DownstreamException
+    default TmdbHttpResponse exchange(TmdbRequestKey key) {
+        return exchange(key, HttpHeaders.EMPTY);
+    }
+
+//    附加額外標頭 (例如重新驗證用的 If-None-Match / If-Modified-Since)
+    TmdbHttpResponse exchange(TmdbRequestKey key, HttpHeaders extraHeaders);
+
+//    傳輸層統計
+    TmdbTransportStats stats();
+}
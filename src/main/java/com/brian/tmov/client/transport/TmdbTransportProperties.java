@@ -0,0 +1,40 @@
+package com.brian.tmov.client.transport;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tmdb.transport")
+public class TmdbTransportProperties {
+
+    // jdk: JDK HttpClient (HTTP/2、連線重用、gzip)；rest-client: 原本的 RestClient 預設實作
+    private String type = "jdk";
+
+    private boolean http2 = true;
+
+    // 是否要求 gzip 壓縮回應
+    private boolean compression = true;
+
+    private Duration connectTimeout = Duration.ofSeconds(3);
+
+    // 單一請求的回應逾時
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    // 各端點類別的回應逾時，key 規則同 tmdb.cache.ttl
+    private Map<String, Duration> endpointTimeouts = new LinkedHashMap<>();
+
+    public Duration timeoutFor(TmdbRequestKey key) {
+        for (String prefix : key.endpointPrefixes()) {
+            Duration configured = endpointTimeouts.get(prefix);
+            if (configured != null) return configured;
+        }
+        return readTimeout;
+    }
+}
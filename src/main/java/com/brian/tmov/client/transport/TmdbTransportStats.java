@@ -0,0 +1,25 @@
+package com.brian.tmov.client.transport;
+
+/**
+ * @param requestCount   已送出的請求數
+ * @param inFlight       進行中的請求數
+ * @param http2Count     以 HTTP/2 完成的請求數
+ * @param failureCount   沒有取得回應的請求數 (連線失敗、逾時等)
+ * @param wireBytes      實際傳輸的 bytes (壓縮後)
+ * @param decodedBytes   解壓縮後的 bytes
+ */
+public record TmdbTransportStats(
+
+        long requestCount,
+
+        int inFlight,
+
+        long http2Count,
+
+        long failureCount,
+
+        long wireBytes,
+
+        long decodedBytes
+) {
+}
@@ -0,0 +1,18 @@
+package com.brian.tmov.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+@Configuration
+public class ClockConfig {
+
+    // 營業日以台灣時間計算 (不受伺服器時區影響，例如雲端主機預設為 UTC)
+    @Bean
+    public Clock clock(@Value("${app.time-zone:Asia/Taipei}") String timeZone) {
+        return Clock.system(ZoneId.of(timeZone));
+    }
+}
@@ -0,0 +1,48 @@
+package com.brian.tmov.config;
+
+import com.brian.tmov.controller.TmdbController;
+import com.brian.tmov.service.TmdbFieldProjectionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// TMDB 代理 API 支援 ?fields= 只回傳指定欄位 (例如 fields=id,title,credits.cast.name)，在序列化前裁剪回應
+@RestControllerAdvice(assignableTypes = TmdbController.class)
+public class TmdbFieldsProjectionAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String PARAM = "fields";
+
+    @Autowired
+    private TmdbFieldProjectionService tmdbFieldProjectionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 只處理 TmdbController 本身的回傳值，錯誤回應 (GlobalExceptionHandler) 維持原樣
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return TmdbController.class.isAssignableFrom(returnType.getContainingClass());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) return body;
+
+        String fields = servletRequest.getServletRequest().getParameter(PARAM);
+        if (fields == null || fields.isBlank()) return body;
+
+        // 列表等 DTO 先轉成樹狀結構再裁剪 (DTO 上的 @JsonNaming、@JsonInclude 仍然有效)
+        JsonNode tree = (body instanceof JsonNode node) ? node : objectMapper.valueToTree(body);
+        return tmdbFieldProjectionService.project(tree, fields);
+    }
+}
@@ -0,0 +1,30 @@
+package com.brian.tmov.config;
+
+import com.brian.tmov.client.TmdbStaleResponses;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 回應內容來自 TMDB 備援快照時，加上 X-Tmdb-Stale: true 讓前端知道資料可能不是最新
+@RestControllerAdvice
+public class TmdbStaleHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (TmdbStaleResponses.isMarkedStale()) {
+            response.getHeaders().set(TmdbStaleResponses.HEADER, "true");
+        }
+        return body;
+    }
+}
@@ -1,8 +1,13 @@
 package com.brian.tmov.controller;
 
 import com.brian.tmov.dto.request.TmdbSearchQueryRequest;
+import com.brian.tmov.dto.response.TmdbCursorPage;
+import com.brian.tmov.dto.response.TmdbHomeResponse;
+import com.brian.tmov.dto.response.TmdbListPage;
 import com.brian.tmov.service.TmdbDetailService;
 import com.brian.tmov.service.TmdbDiscoverService;
+import com.brian.tmov.service.TmdbHomeService;
+import com.brian.tmov.service.TmdbListPagerService;
 import com.brian.tmov.service.TmdbSearchService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -30,12 +35,33 @@ public class TmdbController {
     @Autowired
     private TmdbDetailService tmdbDetailService;
 
+    @Autowired
+    private TmdbHomeService tmdbHomeService;
+
+    @Autowired
+    private TmdbListPagerService tmdbListPagerService;
+
     @Operation(summary = "搜尋", description = "搜尋電影、影集或人物")
     @GetMapping("/search")
-    public ResponseEntity<JsonNode> search(@Valid TmdbSearchQueryRequest query) {
+    public ResponseEntity<TmdbListPage> search(@Valid TmdbSearchQueryRequest query) {
         return ResponseEntity.ok(tmdbSearchService.search(query));
     }
 
+    @Operation(summary = "首頁", description = "一次取得首頁所有區塊 (Hero、趨勢、各熱門列表、熱映、即將上映)，逾時的區塊會列在 unavailable")
+    @GetMapping("/home")
+    public ResponseEntity<TmdbHomeResponse> getHome() {
+        return ResponseEntity.ok(tmdbHomeService.getHomeFeed());
+    }
+
+    @Operation(summary = "列表分頁", description = "以 cursor 分頁取得列表 (無限捲動)，每頁筆數固定，list 與各列表 API 路徑相同，例如 popular-movies、trending-day")
+    @GetMapping("/lists/{list}")
+    public ResponseEntity<TmdbCursorPage> getListPage(
+            @PathVariable String list,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        return ResponseEntity.ok(tmdbListPagerService.getPage(list, cursor));
+    }
+
     @Operation(summary = "隨機背景", description = "取得隨機一張熱門項目的背景圖 (用於首頁 Hero)")
     @GetMapping("/popular-backdrop")
     public ResponseEntity<Map<String, String>> getRandomPopularBackdrop(
@@ -46,7 +72,7 @@ public class TmdbController {
 
     @Operation(summary = "趨勢", description = "取得今日或本週的熱門趨勢")
     @GetMapping("/trending")
-    public ResponseEntity<JsonNode> getTrendingMovies(
+    public ResponseEntity<TmdbListPage> getTrendingMovies(
             @RequestParam(value = "time_window", defaultValue = "day") String timeWindow,
             @RequestParam(value = "page", defaultValue = "1") Integer page
    ) {
@@ -55,7 +81,7 @@ public class TmdbController {
 
     @Operation(summary = "熱門電影", description = "取得目前的熱門電影列表")
     @GetMapping("/popular-movies")
-    public ResponseEntity<JsonNode> getPopularMovies(
+    public ResponseEntity<TmdbListPage> getPopularMovies(
             @RequestParam(value = "page", defaultValue = "1") Integer page
     ) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularMovies(page));
@@ -63,7 +89,7 @@ public class TmdbController {
 
     @Operation(summary = "熱門電視節目", description = "取得目前的熱門電視節目列表")
     @GetMapping("/popular-tv")
-    public ResponseEntity<JsonNode> getPopularTv(
+    public ResponseEntity<TmdbListPage> getPopularTv(
             @RequestParam(value = "page", defaultValue = "1") Integer page
     ) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularTv(page));
@@ -71,49 +97,49 @@ public class TmdbController {
 
     @Operation(summary = "熱門動畫", description = "取得熱門動畫列表")
     @GetMapping("/popular-anime")
-    public ResponseEntity<JsonNode> getPopularAnimation(
+    public ResponseEntity<TmdbListPage> getPopularAnimation(
             @RequestParam(value = "page", defaultValue = "1") Integer page) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularAnimation(page));
     }
 
     @Operation(summary = "熱門電視劇", description = "取得熱門電視劇列表")
     @GetMapping("/popular-drama")
-    public ResponseEntity<JsonNode> getPopularDrama(
+    public ResponseEntity<TmdbListPage> getPopularDrama(
             @RequestParam(value = "page", defaultValue = "1") Integer page) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularDrama(page));
     }
 
     @Operation(summary = "熱門綜藝", description = "取得熱門綜藝節目列表")
     @GetMapping("/popular-variety")
-    public ResponseEntity<JsonNode> getPopularVariety(
+    public ResponseEntity<TmdbListPage> getPopularVariety(
             @RequestParam(value = "page", defaultValue = "1") Integer page) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularVariety(page));
     }
 
     @Operation(summary = "熱門紀錄片", description = "取得熱門紀錄片列表")
     @GetMapping("/popular-documentary")
-    public ResponseEntity<JsonNode> getPopularComedy(
+    public ResponseEntity<TmdbListPage> getPopularComedy(
             @RequestParam(value = "page", defaultValue = "1") Integer page) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularDocumentary(page));
     }
 
     @Operation(summary = "熱門兒童節目", description = "取得熱門兒童節目列表")
     @GetMapping("/popular-children")
-    public ResponseEntity<JsonNode> getPopularChildren(
+    public ResponseEntity<TmdbListPage> getPopularChildren(
             @RequestParam(value = "page", defaultValue = "1") Integer page) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularChildren(page));
     }
 
     @Operation(summary = "熱門脫口秀", description = "取得熱門脫口秀列表")
     @GetMapping("/popular-talkShow")
-    public ResponseEntity<JsonNode> getPopularTalkShow(
+    public ResponseEntity<TmdbListPage> getPopularTalkShow(
             @RequestParam(value = "page", defaultValue = "1") Integer page) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularTalkShow(page));
     }
 
     @Operation(summary = "熱門人物", description = "取得目前的熱門人物列表")
     @GetMapping("/popular-person")
-    public ResponseEntity<JsonNode> getPopularPerson(
+    public ResponseEntity<TmdbListPage> getPopularPerson(
             @RequestParam(value = "page", defaultValue = "1") Integer page
     ) {
         return ResponseEntity.ok(tmdbDiscoverService.getPopularPerson(page));
@@ -121,7 +147,7 @@ public class TmdbController {
 
     @Operation(summary = "即將上映", description = "取得即將上映的電影列表")
     @GetMapping("/upcoming")
-    public ResponseEntity<JsonNode> getUpcomingMovies(
+    public ResponseEntity<TmdbListPage> getUpcomingMovies(
             @RequestParam(value = "page", defaultValue = "1") Integer page
     ) {
         return ResponseEntity.ok(tmdbDiscoverService.getUpcomingMovies(page));
@@ -142,7 +168,7 @@ public class TmdbController {
 
     @Operation(summary = "現正熱映", description = "取得台灣地區現正熱映的電影列表")
     @GetMapping("/now-playing")
-    public ResponseEntity<JsonNode> getNowPlayingMovies(
+    public ResponseEntity<TmdbListPage> getNowPlayingMovies(
             @RequestParam(value = "page", defaultValue = "1") Integer page
     ) {
         return ResponseEntity.ok(tmdbDiscoverService.getNowPlayingMovies(page));
@@ -150,7 +176,7 @@ public class TmdbController {
 
     @Operation(summary = "好評推薦", description = "取得評價最高的電影列表")
     @GetMapping("/top-rated")
-    public ResponseEntity<JsonNode> getTopRatedMovies(
+    public ResponseEntity<TmdbListPage> getTopRatedMovies(
             @RequestParam(value = "page", defaultValue = "1") Integer page
     ) {
         return ResponseEntity.ok(tmdbDiscoverService.getTopRatedMovies(page));
@@ -173,4 +199,20 @@ public class TmdbController {
     public ResponseEntity<JsonNode> getPersonDetail(@PathVariable Long id) {
         return ResponseEntity.ok(tmdbDetailService.getPersonDetail(id));
     }
+
+    @Operation(summary = "詳情核心資料", description = "取得電影或電視節目首屏需要的核心資料 (含分級)，其餘區塊請用區塊 API 另外載入")
+    @GetMapping("/{type:movie|tv}/{id}/core")
+    public ResponseEntity<JsonNode> getCoreDetail(@PathVariable String type, @PathVariable Long id) {
+        return ResponseEntity.ok(tmdbDetailService.getCoreDetail(type, id));
+    }
+
+    @Operation(summary = "詳情區塊", description = "取得電影或電視節目的單一區塊：credits、images、recommendations、videos、providers")
+    @GetMapping("/{type:movie|tv}/{id}/sections/{section}")
+    public ResponseEntity<JsonNode> getDetailSection(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @PathVariable String section
+    ) {
+        return ResponseEntity.ok(tmdbDetailService.getDetailSection(type, id, section));
+    }
 }
@@ -0,0 +1,36 @@
+package com.brian.tmov.dao.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 已實體化的列表資訊 (TMDB 原本的總頁數 / 筆數與最後同步時間)
+@Entity
+@Table(name = "catalog_list")
+@Data
+@NoArgsConstructor
+public class CatalogListEntity {
+
+    @Id
+    @Column(name = "list_name", length = 50)
+    private String listName;
+
+    @Column(name = "total_pages", nullable = false)
+    private Integer totalPages;
+
+    @Column(name = "total_results", nullable = false)
+    private Integer totalResults;
+
+    // 本地保存了前幾頁
+    @Column(name = "materialized_pages", nullable = false)
+    private Integer materializedPages;
+
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;
+
+    public CatalogListEntity(String listName) {
+        this.listName = listName;
+    }
+}
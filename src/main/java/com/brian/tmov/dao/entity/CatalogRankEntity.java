@@ -0,0 +1,40 @@
+package com.brian.tmov.dao.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 項目在某個列表中的排名 (保留原本的 TMDB 頁碼，分頁結果與即時查詢一致)
+@Entity
+@Table(name = "catalog_rank",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"list_name", "rank_no"})},
+        indexes = {@Index(name = "idx_catalog_rank_page", columnList = "list_name, page_no")})
+@Data
+@NoArgsConstructor
+public class CatalogRankEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "catalog_rank_id")
+    private Long id;
+
+    @Column(name = "list_name", nullable = false, length = 50)
+    private String listName;
+
+    @Column(name = "page_no", nullable = false)
+    private Integer pageNo;
+
+    @Column(name = "rank_no", nullable = false)
+    private Integer rankNo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "catalog_title_id", nullable = false)
+    private CatalogTitleEntity title;
+
+    public CatalogRankEntity(String listName, Integer pageNo, Integer rankNo, CatalogTitleEntity title) {
+        this.listName = listName;
+        this.pageNo = pageNo;
+        this.rankNo = rankNo;
+        this.title = title;
+    }
+}
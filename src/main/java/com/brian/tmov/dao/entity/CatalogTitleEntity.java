@@ -0,0 +1,85 @@
+package com.brian.tmov.dao.entity;
+
+import com.brian.tmov.enums.MediaType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 本地目錄中的單一 TMDB 項目 (精簡欄位，同一項目出現在多個列表時共用一列)
+@Entity
+@Table(name = "catalog_title", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"tmdb_id", "media_type"})
+})
+@Data
+@NoArgsConstructor
+public class CatalogTitleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "catalog_title_id")
+    private Long id;
+
+    @Column(name = "tmdb_id", nullable = false)
+    private Long tmdbId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_type", nullable = false)
+    private MediaType mediaType;
+
+    // 電影為 title，影集與人物為 name
+    private String title;
+
+    // 電影為 original_title，影集為 original_name
+    @Column(name = "original_title")
+    private String originalTitle;
+
+    @Column(columnDefinition = "TEXT")
+    private String overview;
+
+    @Column(name = "poster_path")
+    private String posterPath;
+
+    @Column(name = "backdrop_path")
+    private String backdropPath;
+
+    @Column(name = "profile_path")
+    private String profilePath;
+
+    // 以逗號分隔，例如 "18,10765"
+    @Column(name = "genre_ids")
+    private String genreIds;
+
+    @Column(name = "vote_average")
+    private Double voteAverage;
+
+    @Column(name = "vote_count")
+    private Integer voteCount;
+
+    private Double popularity;
+
+    // 電影為 release_date，影集為 first_air_date
+    @Column(name = "release_date")
+    private String releaseDate;
+
+    @Column(name = "original_language")
+    private String originalLanguage;
+
+    @Column(name = "known_for_department")
+    private String knownForDepartment;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public CatalogTitleEntity(Long tmdbId, MediaType mediaType) {
+        this.tmdbId = tmdbId;
+        this.mediaType = mediaType;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
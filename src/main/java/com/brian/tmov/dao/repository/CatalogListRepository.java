@@ -0,0 +1,9 @@
+package com.brian.tmov.dao.repository;
+
+import com.brian.tmov.dao.entity.CatalogListEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CatalogListRepository extends JpaRepository<CatalogListEntity, String> {
+}
@@ -0,0 +1,23 @@
+package com.brian.tmov.dao.repository;
+
+import com.brian.tmov.dao.entity.CatalogRankEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CatalogRankRepository extends JpaRepository<CatalogRankEntity, Long> {
+
+    // 查詢列表某一頁的項目，依排名排序
+    @Query("SELECT r FROM CatalogRankEntity r JOIN FETCH r.title " +
+            "WHERE r.listName = :listName AND r.pageNo = :pageNo ORDER BY r.rankNo")
+    List<CatalogRankEntity> findPage(String listName, Integer pageNo);
+
+    // 清空列表的排名 (重新同步前)
+    @Modifying
+    @Query("DELETE FROM CatalogRankEntity r WHERE r.listName = :listName")
+    void removeAllByListName(String listName);
+}
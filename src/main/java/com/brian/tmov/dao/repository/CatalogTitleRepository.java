@@ -0,0 +1,24 @@
+package com.brian.tmov.dao.repository;
+
+import com.brian.tmov.dao.entity.CatalogTitleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogTitleRepository extends JpaRepository<CatalogTitleEntity, Long> {
+
+    // 一次查出一批 TMDB ID 已存在的項目 (同步列表時用來判斷新增或更新)
+    @Query("SELECT t FROM CatalogTitleEntity t WHERE t.tmdbId IN :tmdbIds")
+    List<CatalogTitleEntity> findAllByTmdbIds(Collection<Long> tmdbIds);
+
+    // 刪除已不在任何列表排名中的項目
+    @Modifying
+    @Query("DELETE FROM CatalogTitleEntity t " +
+            "WHERE NOT EXISTS (SELECT r FROM CatalogRankEntity r WHERE r.title = t)")
+    int removeOrphans();
+}
@@ -1,11 +1,13 @@
 package com.brian.tmov.dao.repository;
 
 import com.brian.tmov.dao.entity.FavoriteEntity;
+import com.brian.tmov.dto.TmdbTitleRef;
 import com.brian.tmov.enums.MediaType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,4 +34,14 @@ public interface FavoriteRepository extends JpaRepository<FavoriteEntity, Long>
     @Query("SELECT CASE WHEN COUNT(f) > 0 THEN true ELSE false END FROM FavoriteEntity f " +
             "WHERE f.member.email = :email AND f.tmdbId = :tmdbId AND f.mediaType = :mediaType")
     boolean check(String email, Long tmdbId, MediaType mediaType);
+
+    // 所有被引用過的 TMDB 項目 (去除重複)，供清理已不存在的項目使用
+    @Query("SELECT DISTINCT new com.brian.tmov.dto.TmdbTitleRef(f.mediaType, f.tmdbId) FROM FavoriteEntity f")
+    List<TmdbTitleRef> findDistinctTitles();
+
+    // 刪除所有會員中引用此項目的紀錄 (由排程直接呼叫，自帶交易)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FavoriteEntity f WHERE f.tmdbId = :tmdbId AND f.mediaType = :mediaType")
+    int removeAllByTitle(Long tmdbId, MediaType mediaType);
 }
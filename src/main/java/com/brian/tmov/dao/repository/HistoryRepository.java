@@ -1,11 +1,13 @@
 package com.brian.tmov.dao.repository;
 
 import com.brian.tmov.dao.entity.HistoryEntity;
+import com.brian.tmov.dto.TmdbTitleRef;
 import com.brian.tmov.enums.MediaType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,4 +34,14 @@ public interface HistoryRepository extends JpaRepository<HistoryEntity, Long> {
     @Modifying
     @Query("DELETE FROM HistoryEntity h WHERE h.member.email = :email")
     void removeAllByEmail(String email);
+
+    // 所有被引用過的 TMDB 項目 (去除重複)，供清理已不存在的項目使用
+    @Query("SELECT DISTINCT new com.brian.tmov.dto.TmdbTitleRef(h.mediaType, h.tmdbId) FROM HistoryEntity h")
+    List<TmdbTitleRef> findDistinctTitles();
+
+    // 刪除所有會員中引用此項目的紀錄 (由排程直接呼叫，自帶交易)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HistoryEntity h WHERE h.tmdbId = :tmdbId AND h.mediaType = :mediaType")
+    int removeAllByTitle(Long tmdbId, MediaType mediaType);
 }
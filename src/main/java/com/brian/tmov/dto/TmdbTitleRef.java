@@ -0,0 +1,21 @@
+package com.brian.tmov.dto;
+
+import com.brian.tmov.enums.MediaType;
+
+/**
+ * 收藏 / 歷史紀錄中引用的 TMDB 項目 (不含會員資訊)
+ *
+ * @param mediaType 媒體類型
+ * @param tmdbId    TMDB ID
+ */
+public record TmdbTitleRef(
+
+        MediaType mediaType,
+
+        Long tmdbId
+) {
+
+    public String path() {
+        return mediaType.name() + "/" + tmdbId;
+    }
+}
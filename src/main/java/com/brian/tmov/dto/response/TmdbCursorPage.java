@@ -0,0 +1,21 @@
+package com.brian.tmov.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * 以 cursor 分頁的列表回應，每頁固定筆數 (過濾後不足的部分已由後續頁面補齊)
+ *
+ * @param results    本頁項目
+ * @param nextCursor 下一頁的 cursor，已到最後一頁時為 null
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record TmdbCursorPage(
+
+        List<TmdbListItem> results,
+
+        String nextCursor
+) {
+}
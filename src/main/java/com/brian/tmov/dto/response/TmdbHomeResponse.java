@@ -0,0 +1,25 @@
+package com.brian.tmov.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 首頁彙整回應，一次取得所有首頁區塊
+ *
+ * @param hero        Hero 背景圖與預告片網址，無法取得時為 null
+ * @param sections    各列表區塊 (依首頁顯示順序)，失敗或逾時的區塊不會出現
+ * @param unavailable 本次失敗或逾時的區塊名稱，前端可改呼叫個別 API 補抓
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record TmdbHomeResponse(
+
+        Map<String, String> hero,
+
+        Map<String, TmdbListPage> sections,
+
+        List<String> unavailable
+) {
+}
@@ -0,0 +1,69 @@
+package com.brian.tmov.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * TMDB 列表 (搜尋、趨勢、探索) 中的單一項目
+ * 只保留前端會用到的欄位，圖片完整網址在解析時一併計算
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TmdbListItem(
+
+        Long id,
+
+        String mediaType,
+
+        String title,
+
+        String name,
+
+        String originalTitle,
+
+        String originalName,
+
+        String overview,
+
+        String posterPath,
+
+        String backdropPath,
+
+        String profilePath,
+
+        String fullPosterUrl,
+
+        String fullBackdropUrl,
+
+        String fullProfileUrl,
+
+        int[] genreIds,
+
+        Double voteAverage,
+
+        Integer voteCount,
+
+        Double popularity,
+
+        String releaseDate,
+
+        String firstAirDate,
+
+        String originalLanguage,
+
+        String knownForDepartment
+) {
+
+    public boolean hasGenre(int genreId) {
+        if (genreIds == null) return false;
+        for (int id : genreIds) {
+            if (id == genreId) return true;
+        }
+        return false;
+    }
+
+    public boolean hasBackdrop() {
+        return backdropPath != null && !backdropPath.isBlank() && !"null".equals(backdropPath);
+    }
+}
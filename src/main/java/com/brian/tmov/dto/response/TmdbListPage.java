@@ -0,0 +1,26 @@
+package com.brian.tmov.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * TMDB 分頁列表回應 (total_pages 已限制在 TMDB 可查詢的上限內)
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record TmdbListPage(
+
+        int page,
+
+        int totalPages,
+
+        int totalResults,
+
+        List<TmdbListItem> results
+) {
+
+    public TmdbListPage withResults(List<TmdbListItem> filtered) {
+        return new TmdbListPage(page, totalPages, totalResults, filtered);
+    }
+}
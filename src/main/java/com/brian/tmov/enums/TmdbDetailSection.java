@@ -0,0 +1,39 @@
+package com.brian.tmov.enums;
+
+import java.util.Arrays;
+
+// 詳情頁可分開載入的區塊 (各自是 TMDB 的子資源，有獨立的快取項目與 TTL)
+public enum TmdbDetailSection {
+
+    CREDITS("credits", "credits"),
+    IMAGES("images", "images"),
+    RECOMMENDATIONS("recommendations", "recommendations"),
+    VIDEOS("videos", "videos"),
+    PROVIDERS("providers", "watch/providers");
+
+    private final String value;
+
+    // TMDB 子資源路徑，例如 movie/{id}/watch/providers
+    private final String path;
+
+    TmdbDetailSection(String value, String path) {
+        this.value = value;
+        this.path = path;
+    }
+
+    public String value() { return value; }
+
+    public String path() { return path; }
+
+    public static TmdbDetailSection from(String s) {
+        if (s == null || s.isBlank()) throw new IllegalArgumentException("缺少區塊名稱");
+
+        String lower = s.trim().toLowerCase();
+
+        return Arrays.stream(values())
+                .filter(t -> t.value.equals(lower))
+                .findFirst()
+                .orElseThrow(() ->
+                        new IllegalArgumentException("section 參數不正確，必須是：credits、images、recommendations、videos、providers"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.brian.tmov.enums;
+
+import java.util.Arrays;
+
+public enum TmdbListType {
+
+    TRENDING_DAY("trending-day", null),
+    TRENDING_WEEK("trending-week", null),
+    POPULAR_MOVIES("popular-movies", MediaType.movie),
+    POPULAR_TV("popular-tv", MediaType.tv),
+    POPULAR_ANIME("popular-anime", MediaType.tv),
+    POPULAR_DRAMA("popular-drama", MediaType.tv),
+    POPULAR_VARIETY("popular-variety", MediaType.tv),
+    POPULAR_DOCUMENTARY("popular-documentary", MediaType.tv),
+    POPULAR_CHILDREN("popular-children", MediaType.tv),
+    POPULAR_TALK_SHOW("popular-talkShow", MediaType.tv),
+    UPCOMING("upcoming", MediaType.movie),
+    NOW_PLAYING("now-playing", MediaType.movie),
+    TOP_RATED("top-rated", MediaType.movie),
+    POPULAR_PERSON("popular-person", MediaType.person);
+
+    private final String value;
+
+    // 列表項目的媒體類型，null 表示混合類型 (以各項目的 media_type 為準)
+    private final MediaType mediaType;
+
+    TmdbListType(String value, MediaType mediaType) {
+        this.value = value;
+        this.mediaType = mediaType;
+    }
+
+    public String value() { return value; }
+
+    public MediaType mediaType() { return mediaType; }
+
+    // 現正熱映 / 即將上映依台灣營業日快取與預熱，不放入本地目錄 (避免過了午夜仍回傳前一天的資料)
+    public boolean isReleaseWindow() { return this == UPCOMING || this == NOW_PLAYING; }
+
+    public static TmdbListType from(String s) {
+        if (s == null || s.isBlank()) throw new IllegalArgumentException("缺少列表名稱");
+
+        String trimmed = s.trim();
+
+        return Arrays.stream(values())
+                .filter(t -> t.value.equalsIgnoreCase(trimmed))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("不支援的列表: " + s));
+    }
+}
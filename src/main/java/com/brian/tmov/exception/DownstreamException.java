@@ -1,12 +1,38 @@
 package com.brian.tmov.exception;
 
+import java.time.Duration;
+
 public class DownstreamException extends RuntimeException {
 
+    // 下游回應的 HTTP 狀態碼，0 表示沒有取得回應 (連線失敗、逾時等)
+    private final int status;
+
+    // 下游要求的重試等待時間 (Retry-After)，沒有時為 null
+    private final Duration retryAfter;
+
     public DownstreamException(String message) {
-        super(message);
+        this(message, 0, null);
     }
 
     public DownstreamException(String message, Throwable cause) {
+        this(message, 0, cause);
+    }
+
+    public DownstreamException(String message, int status, Throwable cause) {
+        this(message, status, null, cause);
+    }
+
+    public DownstreamException(String message, int status, Duration retryAfter, Throwable cause) {
         super(message, cause);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 }
@@ -0,0 +1,7 @@
+package com.brian.tmov.service;
+
+public interface MissingTitleCleanupService {
+
+//    檢查收藏與歷史紀錄引用的 TMDB 項目，連續多次查無的項目依設定回報或刪除
+    void cleanupMissingTitles();
+}
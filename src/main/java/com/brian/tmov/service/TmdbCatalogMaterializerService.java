@@ -0,0 +1,7 @@
+package com.brian.tmov.service;
+
+public interface TmdbCatalogMaterializerService {
+
+//    將各列表的前幾頁同步到本地目錄 (排程)
+    void materialize();
+}
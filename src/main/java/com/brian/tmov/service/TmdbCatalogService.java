@@ -0,0 +1,18 @@
+package com.brian.tmov.service;
+
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.enums.TmdbListType;
+
+import java.util.List;
+
+public interface TmdbCatalogService {
+
+//    從本地目錄讀取列表的某一頁，未實體化、超出保存頁數或資料太舊時回傳 null
+    TmdbListPage findPage(TmdbListType list, int page);
+
+//    以最新抓取的前幾頁取代本地保存的列表 (pages 依頁碼排序，第一筆為第 1 頁)
+    void replaceList(TmdbListType list, List<TmdbListPage> pages);
+
+//    刪除已不在任何列表中的項目
+    void removeOrphanTitles();
+}
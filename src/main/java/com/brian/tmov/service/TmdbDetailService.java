@@ -12,4 +12,10 @@ public interface TmdbDetailService {
 
 //    人物詳情
     JsonNode getPersonDetail(long personId);
+
+//    電影 / 電視節目的核心資料 (首屏需要的欄位與分級，不含演員、圖片等區塊)
+    JsonNode getCoreDetail(String type, long id);
+
+//    電影 / 電視節目的單一區塊 (credits、images、recommendations、videos、providers)
+    JsonNode getDetailSection(String type, long id, String section);
 }
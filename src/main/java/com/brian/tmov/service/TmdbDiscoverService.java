@@ -1,6 +1,7 @@
 package com.brian.tmov.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.enums.TmdbListType;
 
 import java.util.Map;
 
@@ -9,45 +10,60 @@ public interface TmdbDiscoverService {
 //    取得一張隨機的電影背景圖(首頁)
     Map<String, String> getRandomPopularBackdrops(String category);
 
+//    重建各分類的 Hero 候選池 (排程)
+    void refreshHeroPools();
+
 //    本日/本週趨勢列表
-    JsonNode getTrendingAll(String timeWindow, Integer page);
+    TmdbListPage getTrendingAll(String timeWindow, Integer page);
 
 //    熱門電影列表
-    JsonNode getPopularMovies(Integer page);
+    TmdbListPage getPopularMovies(Integer page);
 
 //    熱門電視節目
-    JsonNode getPopularTv(Integer page);
+    TmdbListPage getPopularTv(Integer page);
 
 //    熱門動畫列表
-    JsonNode getPopularAnimation(Integer page);
+    TmdbListPage getPopularAnimation(Integer page);
 
 //    熱門電視劇
-    JsonNode getPopularDrama(Integer page);
+    TmdbListPage getPopularDrama(Integer page);
 
 //    熱門綜藝列表
-    JsonNode getPopularVariety(Integer page);
+    TmdbListPage getPopularVariety(Integer page);
 
 //    熱門紀錄片
-    JsonNode getPopularDocumentary(Integer page);
+    TmdbListPage getPopularDocumentary(Integer page);
 
 //    熱門兒童節目
-    JsonNode getPopularChildren(Integer page);
+    TmdbListPage getPopularChildren(Integer page);
 
 //    熱門脫口秀
-    JsonNode getPopularTalkShow(Integer page);
+    TmdbListPage getPopularTalkShow(Integer page);
 
 //    即將上映
-    JsonNode getUpcomingMovies(Integer page);
+    TmdbListPage getUpcomingMovies(Integer page);
 
 //    現正熱映
-    JsonNode getNowPlayingMovies(Integer page);
+    TmdbListPage getNowPlayingMovies(Integer page);
 
 //    熱門人物列表
-    JsonNode getPopularPerson(Integer page);
+    TmdbListPage getPopularPerson(Integer page);
 
 //    好評推薦
-    JsonNode getTopRatedMovies(Integer page);
+    TmdbListPage getTopRatedMovies(Integer page);
+
+//    依列表類型取得列表 (與各列表方法相同，啟用本地目錄時優先讀取資料庫)
+    TmdbListPage getList(TmdbListType list, Integer page);
+
+//    直接向 TMDB 取得列表 (不經過本地目錄)
+    TmdbListPage getLiveList(TmdbListType list, Integer page);
 
 //    最新預告片
     String getMovieTrailer(long movieId);
+
+//    午夜前預先載入隔天的現正熱映 / 即將上映 (排程)
+    void prewarmReleaseWindows();
+
+//    預熱預告片索引 (排程)
+    void warmUpTrailers();
 }
@@ -0,0 +1,10 @@
+package com.brian.tmov.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+public interface TmdbFieldProjectionService {
+
+//    依 fields 參數 (以逗號分隔，巢狀以點號表示，例如 "id,title,credits.cast.name") 只保留指定欄位
+//    陣列會套用到每個元素，fields 為空時回傳原節點
+    JsonNode project(JsonNode node, String fields);
+}
@@ -2,6 +2,12 @@ package com.brian.tmov.service;
 
 public interface TmdbGetImageService {
 
+    String DEFAULT_POSTER_SIZE = "w780";
+
+    String DEFAULT_BACKDROP_SIZE = "w1280";
+
+    String DEFAULT_PROFILE_SIZE = "h632";
+
 //    初始化圖片設定 (從 TMDB 取得最新的 base_url)
     void init();
 
@@ -9,6 +15,9 @@ public interface TmdbGetImageService {
 //    @return 完整的 URL，例如 "https://image.tmdb.org/t/p/w500/path.jpg"
     String getFullImageUrl(String path, String size);
 
+//    取得圖片網址前綴 (base_url + size)，大量組合網址時先算好，之後直接接上路徑
+    String getImageUrlPrefix(String size);
+
 //    取得一個預設尺寸 (w780) 的海報 URL
     String getDefaultPosterUrl(String posterPath);
 
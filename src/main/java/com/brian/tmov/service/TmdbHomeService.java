@@ -0,0 +1,9 @@
+package com.brian.tmov.service;
+
+import com.brian.tmov.dto.response.TmdbHomeResponse;
+
+public interface TmdbHomeService {
+
+//    首頁所有區塊 (Hero、趨勢、熱門列表、熱映、即將上映) 彙整成單一回應
+    TmdbHomeResponse getHomeFeed();
+}
@@ -0,0 +1,9 @@
+package com.brian.tmov.service;
+
+import com.brian.tmov.dto.response.TmdbCursorPage;
+
+public interface TmdbListPagerService {
+
+//    以 cursor 取得固定筆數的列表頁，cursor 為 null 時從第一頁開始
+    TmdbCursorPage getPage(String list, String cursor);
+}
@@ -1,8 +1,11 @@
 package com.brian.tmov.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.brian.tmov.dto.response.TmdbListPage;
+
+import java.io.IOException;
 
 public interface TmdbResponseTransformerService {
 
-    JsonNode transformSearchResponse(JsonNode responseNode);
+//    以串流方式解析 TMDB 列表回應，只讀取需要的欄位並同時組合圖片網址
+    TmdbListPage decodeListResponse(byte[] body) throws IOException;
 }
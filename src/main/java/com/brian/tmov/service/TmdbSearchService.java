@@ -1,9 +1,9 @@
 package com.brian.tmov.service;
 
 import com.brian.tmov.dto.request.TmdbSearchQueryRequest;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.brian.tmov.dto.response.TmdbListPage;
 
 public interface TmdbSearchService {
 
-    JsonNode search(TmdbSearchQueryRequest query);
+    TmdbListPage search(TmdbSearchQueryRequest query);
 }
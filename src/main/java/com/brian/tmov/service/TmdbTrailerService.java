@@ -0,0 +1,18 @@
+package com.brian.tmov.service;
+
+import com.brian.tmov.dto.TmdbTitleRef;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public interface TmdbTrailerService {
+
+//    取得預告片網址 (優先使用索引)，沒有預告片時回傳 null
+    String getTrailerUrl(long tmdbId, String mediaType);
+
+//    非同步版本，索引命中時直接回傳已完成的 future
+    CompletableFuture<String> getTrailerUrlAsync(long tmdbId, String mediaType);
+
+//    預先查好一批項目的預告片並寫入索引檔
+    void warmUp(Collection<TmdbTitleRef> titles);
+}
@@ -1,6 +1,7 @@
 package com.brian.tmov.service.impl;
 
 import com.brian.tmov.client.TmdbClient;
+import com.brian.tmov.client.TmdbRequest;
 import com.brian.tmov.dao.entity.FavoriteEntity;
 import com.brian.tmov.dao.entity.MemberEntity;
 import com.brian.tmov.dao.repository.FavoriteRepository;
@@ -17,13 +18,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 @Slf4j
 @Service
@@ -44,6 +43,10 @@ public class FavoriteServiceImpl implements FavoriteService {
     @Value("${tmdb.default-language:zh-TW}")
     String defaultLanguage;
 
+    // 整批 TMDB 詳細資料的等待上限，逾時的項目會被略過
+    @Value("${tmdb.batch-deadline:5s}")
+    private Duration batchDeadline;
+
     @Override
     @Transactional(readOnly = true)
     public List<JsonNode> getFavorites(String email) {
@@ -54,30 +57,20 @@ public class FavoriteServiceImpl implements FavoriteService {
             return Collections.emptyList();
         }
 
-        // 使用虛擬執行緒並行發送請求給 TMDB
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            List<Future<JsonNode>> futures = new ArrayList<>();
-
-            for (FavoriteEntity fav : favorites) {
-                futures.add(executor.submit(() -> fetchDetailsFromTmdb(fav)));
+        // 由 TmdbClient 批次並行抓取 TMDB 詳細資料 (結果順序與 favorites 相同，失敗的項目為 null)
+        List<TmdbRequest> requests = favorites.stream()
+                .map(this::toDetailRequest)
+                .toList();
+        List<JsonNode> details = tmdbClient.getAll(requests, batchDeadline);
+
+        List<JsonNode> resultList = new ArrayList<>();
+        for (int i = 0; i < favorites.size(); i++) {
+            JsonNode node = decorate(favorites.get(i), details.get(i));
+            if (node != null) {
+                resultList.add(node);
             }
-
-            // 收集結果
-            List<JsonNode> resultList = new ArrayList<>();
-            for (Future<JsonNode> future : futures) {
-                try {
-                    JsonNode node = future.get(); // 這裡會等待任務完成
-                    if (node != null) {
-                        resultList.add(node);
-                    }
-                } catch (ExecutionException e) {
-                    log.error("取得收藏詳情失敗", e);
-                }
-            }
-            return resultList;
-        } catch (Exception e) {
-            throw new RuntimeException("取得收藏列表時發生錯誤", e);
         }
+        return resultList;
     }
 
     @Override
@@ -114,37 +107,36 @@ public class FavoriteServiceImpl implements FavoriteService {
         }
     }
 
-    private JsonNode fetchDetailsFromTmdb(FavoriteEntity fav) {
+    private TmdbRequest toDetailRequest(FavoriteEntity fav) {
         String type = fav.getMediaType().name(); // "movie", "tv", "person"
-        String id = String.valueOf(fav.getTmdbId());
+        return TmdbRequest.of(Map.of("language", defaultLanguage), type, String.valueOf(fav.getTmdbId()));
+    }
 
-        try {
-            // 呼叫 TMDB 取得基本資料
-            JsonNode json = tmdbClient.get(new String[]{type, id}, Map.of("language", defaultLanguage));
+    private JsonNode decorate(FavoriteEntity fav, JsonNode json) {
+        String type = fav.getMediaType().name();
 
-            if (json != null && json.isObject()) {
-                ObjectNode obj = (ObjectNode) json;
+        // 如果 TMDB 找不到這部片 (可能已被刪除)，我們就回傳 null 把它過濾掉
+        if (json == null || !json.isObject()) {
+            log.warn("TMDB 找不到收藏項目: {}/{}", type, fav.getTmdbId());
+            return null;
+        }
 
-                // 補上資料庫的 favorite_id (方便前端做刪除操作)
-                obj.put("favorite_id", fav.getId());
-                // 補上 media_type (因為 TMDB 詳情 API 預設不回傳這個，但前端列表需要)
-                obj.put("media_type", type);
+        ObjectNode obj = (ObjectNode) json;
 
-                // 處理圖片網址
-                String posterPath = obj.path("poster_path").asText(null);
-                String backdropPath = obj.path("backdrop_path").asText(null);
-                String profilePath = obj.path("profile_path").asText(null);
+        // 補上資料庫的 favorite_id (方便前端做刪除操作)
+        obj.put("favorite_id", fav.getId());
+        // 補上 media_type (因為 TMDB 詳情 API 預設不回傳這個，但前端列表需要)
+        obj.put("media_type", type);
 
-                if (posterPath != null) obj.put("full_poster_url", tmdbGetImageService.getDefaultPosterUrl(posterPath));
-                if (backdropPath != null) obj.put("full_backdrop_url", tmdbGetImageService.getDefaultBackdropUrl(backdropPath));
-                if (profilePath != null) obj.put("full_profile_url", tmdbGetImageService.getDefaultProfileUrl(profilePath));
+        // 處理圖片網址
+        String posterPath = obj.path("poster_path").asText(null);
+        String backdropPath = obj.path("backdrop_path").asText(null);
+        String profilePath = obj.path("profile_path").asText(null);
 
-                return obj;
-            }
-        } catch (Exception e) {
-            // 如果 TMDB 找不到這部片 (可能已被刪除)，我們就回傳 null 把它過濾掉
-            log.warn("TMDB 找不到收藏項目: {}/{}", type, id);
-        }
-        return null;
+        if (posterPath != null) obj.put("full_poster_url", tmdbGetImageService.getDefaultPosterUrl(posterPath));
+        if (backdropPath != null) obj.put("full_backdrop_url", tmdbGetImageService.getDefaultBackdropUrl(backdropPath));
+        if (profilePath != null) obj.put("full_profile_url", tmdbGetImageService.getDefaultProfileUrl(profilePath));
+
+        return obj;
     }
 }
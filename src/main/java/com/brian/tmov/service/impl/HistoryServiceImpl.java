@@ -1,6 +1,7 @@
 package com.brian.tmov.service.impl;
 
 import com.brian.tmov.client.TmdbClient;
+import com.brian.tmov.client.TmdbRequest;
 import com.brian.tmov.dao.entity.HistoryEntity;
 import com.brian.tmov.dao.entity.MemberEntity;
 import com.brian.tmov.dao.repository.HistoryRepository;
@@ -16,15 +17,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 @Slf4j
 @Service
@@ -45,6 +44,10 @@ public class HistoryServiceImpl implements HistoryService {
     @Value("${tmdb.default-language:zh-TW}")
     String defaultLanguage;
 
+    // 整批 TMDB 詳細資料的等待上限，逾時的項目會被略過
+    @Value("${tmdb.batch-deadline:5s}")
+    private Duration batchDeadline;
+
     private static final int MAX_HISTORY_SIZE = 20;
 
     @Override
@@ -87,29 +90,20 @@ public class HistoryServiceImpl implements HistoryService {
             return Collections.emptyList();
         }
 
-        // 使用虛擬執行緒並行抓取 TMDB 詳細資料
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            List<Future<JsonNode>> futures = new ArrayList<>();
-
-            for (HistoryEntity history : histories) {
-                futures.add(executor.submit(() -> fetchDetailsFromTmdb(history)));
+        // 由 TmdbClient 批次並行抓取 TMDB 詳細資料 (結果順序與 histories 相同，失敗的項目為 null)
+        List<TmdbRequest> requests = histories.stream()
+                .map(this::toDetailRequest)
+                .toList();
+        List<JsonNode> details = tmdbClient.getAll(requests, batchDeadline);
+
+        List<JsonNode> resultList = new ArrayList<>();
+        for (int i = 0; i < histories.size(); i++) {
+            JsonNode node = decorate(histories.get(i), details.get(i));
+            if (node != null) {
+                resultList.add(node);
             }
-
-            List<JsonNode> resultList = new ArrayList<>();
-            for (Future<JsonNode> future : futures) {
-                try {
-                    JsonNode node = future.get();
-                    if (node != null) {
-                        resultList.add(node);
-                    }
-                } catch (ExecutionException e) {
-                    log.error("取得歷史紀錄詳情失敗", e);
-                }
-            }
-            return resultList;
-        } catch (Exception e) {
-            throw new RuntimeException("取得歷史紀錄列表時發生錯誤", e);
         }
+        return resultList;
     }
 
     @Override
@@ -124,35 +118,35 @@ public class HistoryServiceImpl implements HistoryService {
         historyRepository.removeAllByEmail(email);
     }
 
-    private JsonNode fetchDetailsFromTmdb(HistoryEntity history) {
+    private TmdbRequest toDetailRequest(HistoryEntity history) {
+        String type = history.getMediaType().name();
+        return TmdbRequest.of(Map.of("language", defaultLanguage), type, String.valueOf(history.getTmdbId()));
+    }
+
+    private JsonNode decorate(HistoryEntity history, JsonNode json) {
         String type = history.getMediaType().name();
-        String id = String.valueOf(history.getTmdbId());
 
-        try {
-            JsonNode json = tmdbClient.get(new String[]{type, id}, Map.of("language", defaultLanguage));
+        if (json == null || !json.isObject()) {
+            log.warn("TMDB 找不到歷史紀錄項目: {}/{}", type, history.getTmdbId());
+            return null;
+        }
 
-            if (json != null && json.isObject()) {
-                ObjectNode obj = (ObjectNode) json;
+        ObjectNode obj = (ObjectNode) json;
 
-                // 補上後端資料庫的欄位
-                obj.put("history_id", history.getId());
-                obj.put("media_type", type);
-                obj.put("watched_at", history.getWatchedAt().toString());
+        // 補上後端資料庫的欄位
+        obj.put("history_id", history.getId());
+        obj.put("media_type", type);
+        obj.put("watched_at", history.getWatchedAt().toString());
 
-                // 處理圖片
-                String posterPath = obj.path("poster_path").asText(null);
-                String backdropPath = obj.path("backdrop_path").asText(null);
-                String profilePath = obj.path("profile_path").asText(null);
+        // 處理圖片
+        String posterPath = obj.path("poster_path").asText(null);
+        String backdropPath = obj.path("backdrop_path").asText(null);
+        String profilePath = obj.path("profile_path").asText(null);
 
-                if (posterPath != null) obj.put("full_poster_url", tmdbGetImageService.getDefaultPosterUrl(posterPath));
-                if (backdropPath != null) obj.put("full_backdrop_url", tmdbGetImageService.getDefaultBackdropUrl(backdropPath));
-                if (profilePath != null) obj.put("full_profile_url", tmdbGetImageService.getDefaultProfileUrl(profilePath));
+        if (posterPath != null) obj.put("full_poster_url", tmdbGetImageService.getDefaultPosterUrl(posterPath));
+        if (backdropPath != null) obj.put("full_backdrop_url", tmdbGetImageService.getDefaultBackdropUrl(backdropPath));
+        if (profilePath != null) obj.put("full_profile_url", tmdbGetImageService.getDefaultProfileUrl(profilePath));
 
-                return obj;
-            }
-        } catch (Exception e) {
-            log.warn("TMDB 找不到歷史紀錄項目: {}/{}", type, id);
-        }
-        return null;
+        return obj;
     }
 }
@@ -0,0 +1,138 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.client.TmdbClient;
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.client.cache.TmdbMissingTitleCache;
+import com.brian.tmov.dao.repository.FavoriteRepository;
+import com.brian.tmov.dao.repository.HistoryRepository;
+import com.brian.tmov.dto.TmdbTitleRef;
+import com.brian.tmov.exception.DownstreamException;
+import com.brian.tmov.service.MissingTitleCleanupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class MissingTitleCleanupServiceImpl implements MissingTitleCleanupService {
+
+    @Autowired
+    private TmdbClient tmdbClient;
+
+    @Autowired
+    private TmdbMissingTitleCache missingTitleCache;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Value("${tmdb.default-language:zh-TW}")
+    String defaultLanguage;
+
+    @Value("${tmdb.missing-titles.cleanup.enabled:false}")
+    private boolean enabled;
+
+    // false 只記錄在 log (回報)，true 才會真的從 favorite / history 刪除
+    @Value("${tmdb.missing-titles.cleanup.prune:false}")
+    private boolean prune;
+
+    // 需要連續幾次檢查都回 404 才視為永久不存在 (避免 TMDB 暫時性的 404 誤刪資料)
+    // 次數只保存在記憶體，重新啟動或部署後會從 0 開始計算，實際需要的天數可能比 confirmations 更多
+    @Value("${tmdb.missing-titles.cleanup.confirmations:3}")
+    private int confirmations;
+
+    // 每一批同時檢查的項目數 (實際併發仍由 TmdbOutboundLimiter 控制)
+    private static final int CHECK_BATCH_SIZE = 20;
+
+    // 各項目連續回 404 的次數，key 為 "movie/550" (不持久化，重新啟動後歸零)
+    private final Map<String, Integer> strikes = new ConcurrentHashMap<>();
+
+    /**
+     * 每天凌晨 03:30 檢查收藏與歷史紀錄中的 TMDB 項目 (預設關閉)
+     * 1. 取出所有被引用的項目 (去除重複)
+     * 2. 逐一向 TMDB 確認是否仍存在，查無則累計次數
+     * 3. 累計達 confirmations 次的項目回報或刪除
+     */
+    @Override
+    @Scheduled(cron = "${tmdb.missing-titles.cleanup.cron:0 30 3 * * ?}", zone = "${app.time-zone:Asia/Taipei}")
+    public void cleanupMissingTitles() {
+        if (!enabled) return;
+
+        Set<TmdbTitleRef> titles = new LinkedHashSet<>(favoriteRepository.findDistinctTitles());
+        titles.addAll(historyRepository.findDistinctTitles());
+        log.info("開始檢查收藏與歷史紀錄中的 TMDB 項目，共 {} 筆", titles.size());
+
+        // 已不再被引用的項目不需要繼續累計
+        Set<String> referenced = new LinkedHashSet<>();
+        titles.forEach(title -> referenced.add(title.path()));
+        strikes.keySet().retainAll(referenced);
+
+        List<TmdbTitleRef> confirmed = new ArrayList<>();
+        List<TmdbTitleRef> batch = new ArrayList<>(CHECK_BATCH_SIZE);
+        for (TmdbTitleRef title : titles) {
+            batch.add(title);
+            if (batch.size() == CHECK_BATCH_SIZE) {
+                confirmed.addAll(checkBatch(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) confirmed.addAll(checkBatch(batch));
+
+        for (TmdbTitleRef title : confirmed) {
+            if (prune) {
+                int favorites = favoriteRepository.removeAllByTitle(title.tmdbId(), title.mediaType());
+                int histories = historyRepository.removeAllByTitle(title.tmdbId(), title.mediaType());
+                strikes.remove(title.path());
+                log.warn("已刪除 TMDB 不存在的項目 {}: 收藏 {} 筆、歷史紀錄 {} 筆", title.path(), favorites, histories);
+            } else {
+                log.warn("TMDB 項目已連續 {} 次查無，可考慮刪除: {}", strikes.get(title.path()), title.path());
+            }
+        }
+
+        log.info("TMDB 項目檢查完成，確認不存在 {} 筆 ({})", confirmed.size(), prune ? "已刪除" : "僅回報");
+    }
+
+    // 並行檢查一批項目，回傳已連續查無達門檻的項目
+    private List<TmdbTitleRef> checkBatch(List<TmdbTitleRef> batch) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(batch.size());
+        for (TmdbTitleRef title : batch) {
+            String[] paths = {title.mediaType().name(), String.valueOf(title.tmdbId())};
+            Map<String, String> params = Map.of("language", defaultLanguage);
+
+            // 清除負向快取，讓這次檢查真的向 TMDB 確認
+            missingTitleCache.clear(TmdbRequestKey.of(paths, params));
+            futures.add(tmdbClient.getAsync(paths, params));
+        }
+
+        List<TmdbTitleRef> confirmed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            TmdbTitleRef title = batch.get(i);
+            try {
+                futures.get(i).join();
+                strikes.remove(title.path());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof DownstreamException de && de.getStatus() == 404) {
+                    int count = strikes.merge(title.path(), 1, Integer::sum);
+                    if (count >= confirmations) confirmed.add(title);
+                } else {
+                    // 其他錯誤 (逾時、5xx) 無法判斷是否存在，維持原本的次數
+                    log.warn("檢查 TMDB 項目失敗: {} ({})", title.path(), e.getCause().getMessage());
+                }
+            }
+        }
+        return confirmed;
+    }
+}
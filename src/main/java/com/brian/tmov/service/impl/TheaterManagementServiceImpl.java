@@ -10,6 +10,8 @@ import com.brian.tmov.dao.repository.TheaterHallRepository;
 import com.brian.tmov.dao.repository.TheaterScheduleRepository;
 import com.brian.tmov.dao.repository.TheaterMovieRepository;
 import com.brian.tmov.dto.response.ScheduleResponse;
+import com.brian.tmov.dto.response.TmdbListItem;
+import com.brian.tmov.dto.response.TmdbListPage;
 import com.brian.tmov.service.TheaterManagementService;
 import com.brian.tmov.service.TmdbDiscoverService;
 import com.brian.tmov.service.TmdbGetImageService;
@@ -157,19 +159,20 @@ public class TheaterManagementServiceImpl implements TheaterManagementService {
     public void autoSyncMovies() {
         log.info("開始執行每日電影同步任務...");
 
-        JsonNode nowPlaying = tmdbDiscoverService.getNowPlayingMovies(1);
-        if (nowPlaying == null || !nowPlaying.has("results")) return;
+        TmdbListPage nowPlaying = tmdbDiscoverService.getNowPlayingMovies(1);
+        if (nowPlaying == null || nowPlaying.results() == null) return;
 
         List<Long> currentTmdbIds = new ArrayList<>();
 
-        for (JsonNode node : nowPlaying.get("results")) {
-            Long tmdbId = node.get("id").asLong();
+        for (TmdbListItem node : nowPlaying.results()) {
+            if (node.id() == null) continue;
+            Long tmdbId = node.id();
             currentTmdbIds.add(tmdbId);
 
             if (!theaterMovieRepository.existsByTmdbId(tmdbId)) {
                 try {
                     addMovie(tmdbId);
-                    log.info("自動上架電影: {}", node.path("title").asText());
+                    log.info("自動上架電影: {}", node.title());
                     try { Thread.sleep(200); } catch (InterruptedException _) {}
                     try {
                         Thread.sleep(500);
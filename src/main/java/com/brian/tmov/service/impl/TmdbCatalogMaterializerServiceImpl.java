@@ -0,0 +1,78 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.enums.TmdbListType;
+import com.brian.tmov.service.TmdbCatalogMaterializerService;
+import com.brian.tmov.service.TmdbCatalogService;
+import com.brian.tmov.service.TmdbDiscoverService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class TmdbCatalogMaterializerServiceImpl implements TmdbCatalogMaterializerService {
+
+    @Autowired
+    private TmdbDiscoverService tmdbDiscoverService;
+
+    @Autowired
+    private TmdbCatalogService tmdbCatalogService;
+
+    @Value("${tmdb.catalog.enabled:false}")
+    private boolean enabled;
+
+    // 每個列表保存前幾頁，超過的頁數仍即時向 TMDB 取得
+    @Value("${tmdb.catalog.pages:5}")
+    private int pagesPerList;
+
+    /**
+     * 定期同步本地目錄 (預設關閉，啟用前需先建立 catalog_* 資料表)
+     * 1. 逐一列表向 TMDB 即時抓取前 N 頁 (已套用與 API 相同的過濾，現正熱映 / 即將上映除外)
+     * 2. 整份取代本地保存的列表，任一頁失敗就保留舊資料
+     * 3. 刪除已不在任何列表中的項目
+     */
+    @Override
+    @Scheduled(
+            initialDelayString = "${tmdb.catalog.initial-delay:30s}",
+            fixedDelayString = "${tmdb.catalog.refresh-interval:30m}"
+    )
+    public void materialize() {
+        if (!enabled) return;
+
+        log.info("開始同步本地目錄...");
+        int synced = 0;
+        int total = 0;
+
+        for (TmdbListType list : TmdbListType.values()) {
+            // 現正熱映 / 即將上映由營業日快取負責
+            if (list.isReleaseWindow()) continue;
+            total++;
+
+            try {
+                List<TmdbListPage> pages = new ArrayList<>(pagesPerList);
+                for (int page = 1; page <= pagesPerList; page++) {
+                    TmdbListPage listPage = tmdbDiscoverService.getLiveList(list, page);
+                    if (listPage == null) {
+                        throw new IllegalStateException("TMDB 沒有回傳第 " + page + " 頁");
+                    }
+                    pages.add(listPage);
+                    if (page >= listPage.totalPages()) break;
+                }
+
+                tmdbCatalogService.replaceList(list, pages);
+                synced++;
+            } catch (Exception e) {
+                log.warn("同步本地目錄失敗，保留舊資料: {} ({})", list.value(), e.getMessage());
+            }
+        }
+
+        tmdbCatalogService.removeOrphanTitles();
+        log.info("本地目錄同步完成: {}/{} 個列表", synced, total);
+    }
+}
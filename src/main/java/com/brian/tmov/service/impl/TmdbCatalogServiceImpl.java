@@ -0,0 +1,190 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.dao.entity.CatalogListEntity;
+import com.brian.tmov.dao.entity.CatalogRankEntity;
+import com.brian.tmov.dao.entity.CatalogTitleEntity;
+import com.brian.tmov.dao.repository.CatalogListRepository;
+import com.brian.tmov.dao.repository.CatalogRankRepository;
+import com.brian.tmov.dao.repository.CatalogTitleRepository;
+import com.brian.tmov.dto.response.TmdbListItem;
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.enums.MediaType;
+import com.brian.tmov.enums.TmdbListType;
+import com.brian.tmov.service.TmdbCatalogService;
+import com.brian.tmov.service.TmdbGetImageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class TmdbCatalogServiceImpl implements TmdbCatalogService {
+
+    @Autowired
+    private CatalogListRepository catalogListRepository;
+
+    @Autowired
+    private CatalogRankRepository catalogRankRepository;
+
+    @Autowired
+    private CatalogTitleRepository catalogTitleRepository;
+
+    @Autowired
+    private TmdbGetImageService tmdbGetImageService;
+
+    @Autowired
+    private Clock clock;
+
+    // 超過這個時間沒有同步成功的列表不再使用，改回即時查詢
+    @Value("${tmdb.catalog.max-age:6h}")
+    private Duration maxAge;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TmdbListPage findPage(TmdbListType list, int page) {
+        CatalogListEntity stored = catalogListRepository.findById(list.value()).orElse(null);
+        if (stored == null || page > stored.getMaterializedPages()) return null;
+        if (stored.getSyncedAt().isBefore(LocalDateTime.now(clock).minus(maxAge))) return null;
+
+        List<TmdbListItem> results = catalogRankRepository.findPage(list.value(), page).stream()
+                .map(rank -> toListItem(rank.getTitle(), list.mediaType() == null))
+                .toList();
+
+        return new TmdbListPage(page, stored.getTotalPages(), stored.getTotalResults(), results);
+    }
+
+    /**
+     * 同一個交易內完成，讀取端不會看到只同步一半的列表
+     * 1. 新增或更新所有出現的項目
+     * 2. 清空原本的排名，依頁碼與順序重新寫入
+     * 3. 更新列表的總頁數、保存頁數與同步時間
+     */
+    @Override
+    @Transactional
+    public void replaceList(TmdbListType list, List<TmdbListPage> pages) {
+        if (pages.isEmpty()) return;
+
+        Set<Long> tmdbIds = new HashSet<>();
+        pages.forEach(page -> page.results().forEach(item -> {
+            if (item.id() != null) tmdbIds.add(item.id());
+        }));
+
+        // key 為 "movie/550"
+        Map<String, CatalogTitleEntity> titles = new HashMap<>();
+        for (CatalogTitleEntity title : catalogTitleRepository.findAllByTmdbIds(tmdbIds)) {
+            titles.put(title.getMediaType().name() + "/" + title.getTmdbId(), title);
+        }
+
+        catalogRankRepository.removeAllByListName(list.value());
+
+        List<CatalogRankEntity> ranks = new ArrayList<>();
+        int rank = 0;
+        for (int i = 0; i < pages.size(); i++) {
+            for (TmdbListItem item : pages.get(i).results()) {
+                MediaType mediaType = mediaTypeOf(item, list);
+                if (item.id() == null || mediaType == null) continue;
+
+                CatalogTitleEntity title = titles.computeIfAbsent(mediaType.name() + "/" + item.id(),
+                        k -> new CatalogTitleEntity(item.id(), mediaType));
+                copyFields(item, title);
+
+                ranks.add(new CatalogRankEntity(list.value(), i + 1, ++rank, title));
+            }
+        }
+
+        catalogTitleRepository.saveAll(titles.values());
+        catalogRankRepository.saveAll(ranks);
+
+        TmdbListPage first = pages.get(0);
+        CatalogListEntity stored = catalogListRepository.findById(list.value())
+                .orElseGet(() -> new CatalogListEntity(list.value()));
+        stored.setTotalPages(first.totalPages());
+        stored.setTotalResults(first.totalResults());
+        stored.setMaterializedPages(pages.size());
+        stored.setSyncedAt(LocalDateTime.now(clock));
+        catalogListRepository.save(stored);
+    }
+
+    @Override
+    @Transactional
+    public void removeOrphanTitles() {
+        int removed = catalogTitleRepository.removeOrphans();
+        if (removed > 0) log.info("已刪除不在任何列表中的目錄項目 {} 筆", removed);
+    }
+
+    private MediaType mediaTypeOf(TmdbListItem item, TmdbListType list) {
+        if (item.mediaType() == null) return list.mediaType();
+        try {
+            return MediaType.valueOf(item.mediaType());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void copyFields(TmdbListItem item, CatalogTitleEntity title) {
+        boolean movie = title.getMediaType() == MediaType.movie;
+
+        title.setTitle(movie ? item.title() : item.name());
+        title.setOriginalTitle(movie ? item.originalTitle() : item.originalName());
+        title.setOverview(item.overview());
+        title.setPosterPath(item.posterPath());
+        title.setBackdropPath(item.backdropPath());
+        title.setProfilePath(item.profilePath());
+        title.setGenreIds(item.genreIds() == null ? null
+                : Arrays.stream(item.genreIds()).mapToObj(String::valueOf).collect(Collectors.joining(",")));
+        title.setVoteAverage(item.voteAverage());
+        title.setVoteCount(item.voteCount());
+        title.setPopularity(item.popularity());
+        title.setReleaseDate(movie ? item.releaseDate() : item.firstAirDate());
+        title.setOriginalLanguage(item.originalLanguage());
+        title.setKnownForDepartment(item.knownForDepartment());
+    }
+
+    // 還原成與即時查詢相同格式的項目 (混合類型的列表才帶 media_type)
+    private TmdbListItem toListItem(CatalogTitleEntity title, boolean includeMediaType) {
+        boolean movie = title.getMediaType() == MediaType.movie;
+        boolean tv = title.getMediaType() == MediaType.tv;
+
+        int[] genreIds = (title.getGenreIds() == null) ? null
+                : title.getGenreIds().isEmpty() ? new int[0]
+                : Arrays.stream(title.getGenreIds().split(",")).mapToInt(Integer::parseInt).toArray();
+
+        return new TmdbListItem(
+                title.getTmdbId(),
+                includeMediaType ? title.getMediaType().name() : null,
+                movie ? title.getTitle() : null,
+                movie ? null : title.getTitle(),
+                movie ? title.getOriginalTitle() : null,
+                tv ? title.getOriginalTitle() : null,
+                title.getOverview(),
+                title.getPosterPath(),
+                title.getBackdropPath(),
+                title.getProfilePath(),
+                tmdbGetImageService.getDefaultPosterUrl(title.getPosterPath()),
+                tmdbGetImageService.getDefaultBackdropUrl(title.getBackdropPath()),
+                tmdbGetImageService.getDefaultProfileUrl(title.getProfilePath()),
+                genreIds,
+                title.getVoteAverage(),
+                title.getVoteCount(),
+                title.getPopularity(),
+                movie ? title.getReleaseDate() : null,
+                tv ? title.getReleaseDate() : null,
+                title.getOriginalLanguage(),
+                title.getKnownForDepartment()
+        );
+    }
+}
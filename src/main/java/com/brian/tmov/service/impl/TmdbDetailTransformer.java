@@ -0,0 +1,260 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.enums.TmdbDetailSection;
+import com.brian.tmov.service.TmdbGetImageService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 詳情 JSON 加工：將相對圖片路徑轉為完整網址，並整理分級、串流平台與人物傳記
+ *
+ * 根節點的欄位只走訪一次，遇到關聯列表 (演員、推薦、人物作品) 時就地處理
+ * 圖片網址前綴 (base_url + size) 每次加工只計算一次，串流平台只複製各平台項目而不 deepCopy 整個地區
+ */
+@Component
+public class TmdbDetailTransformer {
+
+    private final TmdbGetImageService tmdbGetImageService;
+
+    public TmdbDetailTransformer(TmdbGetImageService tmdbGetImageService) {
+        this.tmdbGetImageService = tmdbGetImageService;
+    }
+
+//    加工完整詳情 (就地修改並回傳同一個節點)
+    public JsonNode transformDetail(JsonNode rootNode, String type) {
+        if (rootNode == null || !rootNode.isObject()) return rootNode;
+        ObjectNode root = (ObjectNode) rootNode;
+
+        ImagePrefixes prefixes = imagePrefixes();
+        boolean movie = "movie".equals(type);
+        boolean tv = "tv".equals(type);
+        boolean person = "person".equals(type);
+
+        String posterUrl = null;
+        String backdropUrl = null;
+        String profileUrl = null;
+        boolean hasPoster = false;
+        boolean hasBackdrop = false;
+        boolean hasProfile = false;
+        boolean blankBiography = false;
+        String englishBiography = null;
+        String rating = "N/A";
+        JsonNode watchProviders = null;
+
+        for (Map.Entry<String, JsonNode> field : root.properties()) {
+            JsonNode value = field.getValue();
+
+            switch (field.getKey()) {
+                case "poster_path" -> {
+                    hasPoster = !value.isNull();
+                    if (hasPoster) posterUrl = imageUrl(prefixes.poster(), value.asText());
+                }
+                case "backdrop_path" -> {
+                    hasBackdrop = !value.isNull();
+                    if (hasBackdrop) backdropUrl = imageUrl(prefixes.backdrop(), value.asText());
+                }
+                case "profile_path" -> {
+                    hasProfile = !value.isNull();
+                    if (hasProfile) profileUrl = imageUrl(prefixes.profile(), value.asText());
+                }
+                case "biography" -> blankBiography = person && value.asText("").isBlank();
+                case "translations" -> {
+                    if (person) englishBiography = findEnglishBiography(value);
+                }
+                case "credits" -> processCast(value.path("cast"), prefixes);
+                case "recommendations" -> processPosterList(value.path("results"), prefixes);
+                case "combined_credits" -> {
+                    if (person) processPosterList(value.path("cast"), prefixes);
+                }
+                case "release_dates" -> {
+                    if (movie) rating = extractMovieCertification(value);
+                }
+                case "content_ratings" -> {
+                    if (tv) rating = extractTvContentRating(value);
+                }
+                case "watch/providers" -> watchProviders = extractWatchProviders(value, prefixes);
+                default -> {
+                    // 其他欄位不需要加工
+                }
+            }
+        }
+
+        // 走訪結束後才寫入根節點 (走訪中修改會破壞迭代)
+        if (person && (blankBiography || !root.has("biography"))
+                && englishBiography != null && !englishBiography.isBlank()) {
+            root.put("biography", englishBiography);
+        }
+        if (hasPoster) root.put("full_poster_url", posterUrl);
+        if (hasBackdrop) root.put("full_backdrop_url", backdropUrl);
+        if (hasProfile) root.put("full_profile_url", profileUrl);
+        root.put("custom_rating", rating);
+        if (watchProviders != null) root.set("custom_watch_providers", watchProviders);
+
+        return rootNode;
+    }
+
+//    加工單一區塊，與完整詳情中對應欄位的處理方式相同
+    public JsonNode transformSection(JsonNode json, TmdbDetailSection section) {
+        if (json == null || !json.isObject()) return json;
+
+        ImagePrefixes prefixes = imagePrefixes();
+        return switch (section) {
+            case CREDITS -> {
+                processCast(json.path("cast"), prefixes);
+                yield json;
+            }
+            case RECOMMENDATIONS -> {
+                processPosterList(json.path("results"), prefixes);
+                yield json;
+            }
+            case PROVIDERS -> {
+                // 只回傳 TW 地區 (與完整詳情的 custom_watch_providers 相同)，沒有資料時為空物件
+                JsonNode watchProviders = extractWatchProviders(json, prefixes);
+                yield (watchProviders != null) ? watchProviders : JsonNodeFactory.instance.objectNode();
+            }
+            // images、videos 不需要加工
+            case IMAGES, VIDEOS -> json;
+        };
+    }
+
+    // ===================================================================================
+    // 輔助方法
+    // ===================================================================================
+
+    private ImagePrefixes imagePrefixes() {
+        return new ImagePrefixes(
+                tmdbGetImageService.getImageUrlPrefix(TmdbGetImageService.DEFAULT_POSTER_SIZE),
+                tmdbGetImageService.getImageUrlPrefix(TmdbGetImageService.DEFAULT_BACKDROP_SIZE),
+                tmdbGetImageService.getImageUrlPrefix(TmdbGetImageService.DEFAULT_PROFILE_SIZE),
+                tmdbGetImageService.getImageUrlPrefix("original")
+        );
+    }
+
+//    演員列表：頭像
+    private void processCast(JsonNode cast, ImagePrefixes prefixes) {
+        for (JsonNode member : cast) {
+            if (member.isObject()) {
+                putImageUrl((ObjectNode) member, "profile_path", "full_profile_url", prefixes.profile());
+            }
+        }
+    }
+
+//    推薦列表、人物作品：海報與背景圖
+    private void processPosterList(JsonNode items, ImagePrefixes prefixes) {
+        for (JsonNode item : items) {
+            if (item.isObject()) {
+                ObjectNode node = (ObjectNode) item;
+                putImageUrl(node, "poster_path", "full_poster_url", prefixes.poster());
+                putImageUrl(node, "backdrop_path", "full_backdrop_url", prefixes.backdrop());
+            }
+        }
+    }
+
+//    將相對路徑轉換並寫入新欄位 (欄位不存在或為 null 時不寫入)
+    private void putImageUrl(ObjectNode node, String pathField, String urlField, String prefix) {
+        JsonNode path = node.get(pathField);
+        if (path != null && !path.isNull()) {
+            node.put(urlField, imageUrl(prefix, path.asText()));
+        }
+    }
+
+    private String imageUrl(String prefix, String path) {
+        if (path == null || path.isBlank() || path.equals("null")) return null;
+        return prefix + path;
+    }
+
+//    從翻譯節點中尋找英文傳記
+    private String findEnglishBiography(JsonNode translationsNode) {
+        for (JsonNode t : translationsNode.path("translations")) {
+            if ("en".equals(t.path("iso_639_1").asText(""))) {
+                return t.path("data").path("biography").asText(null);
+            }
+        }
+        return null;
+    }
+
+//    提取電影分級 (優先找 TW，其次找 US)
+    private String extractMovieCertification(JsonNode releaseDatesNode) {
+        String usRating = null;
+
+        for (JsonNode region : releaseDatesNode.path("results")) {
+            String iso = region.path("iso_3166_1").asText("");
+
+            if ("TW".equals(iso)) {
+                for (JsonNode release : region.path("release_dates")) {
+                    String cert = release.path("certification").asText("");
+                    if (!cert.isBlank()) return cert;
+                }
+            }
+
+            if ("US".equals(iso) && usRating == null) {
+                for (JsonNode release : region.path("release_dates")) {
+                    String cert = release.path("certification").asText("");
+                    if (!cert.isBlank()) {
+                        usRating = cert;
+                        break;
+                    }
+                }
+            }
+        }
+        return usRating != null ? usRating : "N/A";
+    }
+
+//    提取 TV 分級 (優先找 TW，其次找 US)
+    private String extractTvContentRating(JsonNode contentRatingsNode) {
+        String usRating = null;
+
+        for (JsonNode region : contentRatingsNode.path("results")) {
+            String iso = region.path("iso_3166_1").asText("");
+            String rating = region.path("rating").asText("");
+
+            if ("TW".equals(iso) && !rating.isBlank()) {
+                return rating;
+            }
+            if ("US".equals(iso) && !rating.isBlank() && usRating == null) {
+                usRating = rating;
+            }
+        }
+        return usRating != null ? usRating : "N/A";
+    }
+
+//    取出 TW 地區的串流平台並補上 Logo 完整網址
+//    回傳新的地區節點，只有各平台項目是新建的 (其餘欄位共用原節點)，原本的 watch/providers 不會被修改
+    private JsonNode extractWatchProviders(JsonNode providersNode, ImagePrefixes prefixes) {
+        JsonNode twProviders = providersNode.path("results").path("TW");
+        if (!twProviders.isObject()) return null;
+
+        ObjectNode result = JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonNode> field : twProviders.properties()) {
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+
+            boolean providerList = "flatrate".equals(name) || "rent".equals(name) || "buy".equals(name);
+            result.set(name, (providerList && value.isArray()) ? copyProviderList(value, prefixes) : value);
+        }
+        return result;
+    }
+
+    private ArrayNode copyProviderList(JsonNode providers, ImagePrefixes prefixes) {
+        ArrayNode list = JsonNodeFactory.instance.arrayNode(providers.size());
+        for (JsonNode item : providers) {
+            if (item.isObject()) {
+                ObjectNode provider = list.addObject();
+                provider.setAll((ObjectNode) item);
+                provider.put("full_logo_url", imageUrl(prefixes.logo(), item.path("logo_path").asText(null)));
+            } else {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    // 本次加工使用的圖片網址前綴
+    private record ImagePrefixes(String poster, String backdrop, String profile, String logo) {
+    }
+}
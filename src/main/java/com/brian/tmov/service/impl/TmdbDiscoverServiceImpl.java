@@ -1,22 +1,36 @@
 package com.brian.tmov.service.impl;
 
 import com.brian.tmov.client.TmdbClient;
+import com.brian.tmov.dto.TmdbTitleRef;
+import com.brian.tmov.dto.response.TmdbListItem;
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.enums.MediaType;
+import com.brian.tmov.enums.TmdbListType;
+import com.brian.tmov.exception.DownstreamException;
+import com.brian.tmov.service.TmdbCatalogService;
 import com.brian.tmov.service.TmdbDiscoverService;
 import com.brian.tmov.service.TmdbGetImageService;
 import com.brian.tmov.service.TmdbResponseTransformerService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.brian.tmov.service.TmdbTrailerService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.stream.StreamSupport;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -31,74 +45,166 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     @Autowired
     private TmdbResponseTransformerService tmdbResponseTransformerService;
 
+    @Autowired
+    private TmdbTrailerService tmdbTrailerService;
+
+    @Autowired
+    private TmdbCatalogService tmdbCatalogService;
+
+    @Autowired
+    private Clock clock;
+
     @Value("${tmdb.default-language:zh-TW}")
     String defaultLanguage;
 
+    // 現正熱映 / 即將上映快取的最長保留時間 (最晚在營業日結束時失效)
+    @Value("${tmdb.release-window.max-age:6h}")
+    private Duration releaseWindowMaxAge;
+
+    // 午夜前預先載入隔天的前幾頁
+    @Value("${tmdb.release-window.prewarm-pages:3}")
+    private int releaseWindowPrewarmPages;
+
+    // 是否優先從本地目錄 (排程實體化的列表) 讀取
+    @Value("${tmdb.catalog.enabled:false}")
+    private boolean catalogEnabled;
+
+    // 每個分類的 Hero 候選池最多保留幾個項目 (每個項目都需要一次 /videos 請求)
+    @Value("${tmdb.hero.pool-size:20}")
+    private int heroPoolSize;
+
+    // 同步建立失敗後，這段時間內的請求直接回傳同一個錯誤，不再重新呼叫 TMDB
+    @Value("${tmdb.hero.cold-build-backoff:1m}")
+    private Duration heroColdBuildBackoff;
+
     private final Random random = new Random();
 
+    // 支援的 Hero 分類，其他值一律視為 movie
+    private static final List<String> HERO_CATEGORIES = List.of("movie", "tv", "anime", "variety", "drama");
+
+    // 各分類預先建立好的 Hero 候選池 (整份替換，讀取時不需加鎖)
+    private final Map<String, List<HeroEntry>> heroPools = new ConcurrentHashMap<>();
+
+    // 候選池尚未建立時的同步建立 (每個分類同時只會有一個)，完成後保留到 backoff 結束
+    private final Map<String, HeroColdBuild> heroColdBuilds = new ConcurrentHashMap<>();
+
+    // 現正熱映 / 即將上映依台灣營業日快取，key 為 "now-playing:2026-10-18:1"
+    private final Cache<String, WindowedPage> releaseWindowCache = Caffeine.newBuilder()
+            .maximumSize(200)
+            .expireAfter(Expiry.creating((String key, WindowedPage value) -> releaseWindowTtl(value.businessDate())))
+            .build();
+
     // ===================================================================================
     // 首頁 Hero (隨機背景)
     // ===================================================================================
 
     @Override
     public Map<String, String> getRandomPopularBackdrops(String category) {
-        JsonNode responseNode = fetchSourceListByCategory(category);
-        JsonNode results = responseNode.path("results");
+        String normalized = normalizeHeroCategory(category);
 
-        if (!results.isArray() || results.isEmpty()) {
-            throw new IllegalArgumentException("無法從 TMDB 取得列表資料");
+        // 正常情況由排程預先建立，這裡只有在啟動初期或排程一直失敗時才會同步建立
+        List<HeroEntry> pool = heroPools.get(normalized);
+        if (pool == null) {
+            pool = awaitColdHeroPool(normalized);
         }
 
-        List<JsonNode> validItems = StreamSupport.stream(results.spliterator(), false)
-                .filter(item -> {
-                    String path = item.path("backdrop_path").asText(null);
-                    return path != null && !path.isBlank() && !"null".equals(path);
-                })
-                .toList();
+        // 隨機挑選 (純記憶體操作，不呼叫 TMDB)
+        return pool.get(random.nextInt(pool.size())).toResponse();
+    }
 
-        if (validItems.isEmpty()) {
-            throw new IllegalArgumentException("熱門列表中沒有任何項目包含背景圖");
+    /**
+     * 定期重建各分類的 Hero 候選池
+     * 1. 抓取各分類的熱門列表，只保留有背景圖的項目
+     * 2. 預先組好桌機 / 手機背景圖網址
+     * 3. 並行查好每個項目的預告片
+     */
+    @Override
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tmdb.hero.refresh-interval:30m}")
+    public void refreshHeroPools() {
+        for (String category : HERO_CATEGORIES) {
+            try {
+                List<HeroEntry> pool = buildHeroPool(category);
+                // 建立失敗或沒有資料時保留舊的候選池
+                if (!pool.isEmpty()) heroPools.put(category, pool);
+            } catch (Exception e) {
+                log.warn("重建 Hero 候選池失敗 ({}): {}", category, e.getMessage());
+            }
         }
+    }
 
-        // 隨機挑選
-        JsonNode randomItem = validItems.get(random.nextInt(validItems.size()));
-        String backdropPath = randomItem.path("backdrop_path").asText();
-        long id = randomItem.path("id").asLong();
-
-        // 判斷媒體類型以抓取預告片
-        String mediaType = switch (category.toLowerCase()) {
-            case "movie" -> "movie";
-            default -> "tv";
-        };
+//    同步建立候選池：同一分類的併發請求共用同一次建立，失敗時在 backoff 內直接回傳相同錯誤
+    private List<HeroEntry> awaitColdHeroPool(String category) {
+        Instant now = clock.instant();
+        HeroColdBuild created = new HeroColdBuild(new CompletableFuture<>(), now);
+        HeroColdBuild build = heroColdBuilds.compute(category, (k, existing) ->
+                (existing != null && !existing.isExpired(now, heroColdBuildBackoff)) ? existing : created);
+
+        if (build == created) {
+            try {
+                List<HeroEntry> pool = buildHeroPool(category);
+                if (pool.isEmpty()) {
+                    throw new DownstreamException("熱門列表中沒有任何項目包含背景圖");
+                }
+                // 只保存非空的候選池
+                heroPools.put(category, pool);
+                created.future().complete(pool);
+            } catch (RuntimeException e) {
+                created.future().completeExceptionally(e);
+            }
+        }
 
-        // 使用虛擬執行緒並行抓取 (圖片 + 預告片)
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        try {
+            return build.future().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
 
-            // 任務 A: 組合圖片 URL
-            Future<Map<String, String>> imagesFuture = executor.submit(() -> getBackdropUrls(backdropPath));
+    private List<HeroEntry> buildHeroPool(String category) {
+        TmdbListPage listPage = fetchSourceListByCategory(category);
+        List<TmdbListItem> results = (listPage != null) ? listPage.results() : List.of();
 
-            // 任務 B: 抓取預告片
-            Future<String> trailerFuture = executor.submit(() -> {
-                try {
-                    return fetchTrailerInternal(id, mediaType);
-                } catch (Exception e) {
-                    log.warn("Hero 區塊抓取預告片失敗 (非致命錯誤): {}", e.getMessage());
-                    return null;
-                }
-            });
+        if (results.isEmpty()) {
+            throw new DownstreamException("無法從 TMDB 取得列表資料");
+        }
 
-            Map<String, String> finalUrls = imagesFuture.get();
-            String trailerUrl = trailerFuture.get();
+        List<TmdbListItem> validItems = results.stream()
+                .filter(TmdbListItem::hasBackdrop)
+                .filter(item -> item.id() != null)
+                .limit(heroPoolSize)
+                .toList();
 
-            finalUrls.put("trailerUrl", trailerUrl); // 即使是 null 也放入
-            return finalUrls;
+        // 判斷媒體類型以抓取預告片
+        String mediaType = "movie".equals(category) ? "movie" : "tv";
+
+        // 所有預告片同時抓取，個別失敗只會讓該項目沒有預告片
+        List<CompletableFuture<String>> trailerFutures = validItems.stream()
+                .map(item -> tmdbTrailerService.getTrailerUrlAsync(item.id(), mediaType)
+                        .exceptionally(e -> {
+                            log.warn("Hero 區塊抓取預告片失敗 (非致命錯誤): {}", e.getMessage());
+                            return null;
+                        }))
+                .toList();
 
-        } catch (Exception e) {
-            throw new RuntimeException("處理背景圖與預告片時發生錯誤", e);
+        List<HeroEntry> pool = new ArrayList<>(validItems.size());
+        for (int i = 0; i < validItems.size(); i++) {
+            String backdropPath = validItems.get(i).backdropPath();
+            pool.add(new HeroEntry(
+                    tmdbGetImageService.getFullImageUrl(backdropPath, "w1280"),
+                    tmdbGetImageService.getFullImageUrl(backdropPath, "w780"),
+                    trailerFutures.get(i).join()
+            ));
         }
+        return List.copyOf(pool);
     }
 
-    private JsonNode fetchSourceListByCategory(String category) {
+    private String normalizeHeroCategory(String category) {
+        String normalized = (category != null) ? category.toLowerCase() : "movie";
+        return HERO_CATEGORIES.contains(normalized) ? normalized : "movie";
+    }
+
+    private TmdbListPage fetchSourceListByCategory(String category) {
         return switch (category.toLowerCase()) {
             case "tv" -> getPopularTv(1);
             case "anime" -> getPopularAnimation(1);
@@ -109,38 +215,195 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     }
 
     // ===================================================================================
-    // 首頁五大分類
+    // 列表 (啟用本地目錄時優先讀取資料庫，沒有資料才即時向 TMDB 取得)
     // ===================================================================================
 
 //    今日/本週趨勢
     @Override
-    public JsonNode getTrendingAll(String timeWindow, Integer page) {
-        String finalTimeWindow = (timeWindow != null && timeWindow.equals("week")) ? "week" : "day";
-        JsonNode result = fetchListFromTmdb(new String[]{"trending", "all", finalTimeWindow}, Map.of("page", String.valueOf(page)));
-        return filterOutPerson(result);
+    public TmdbListPage getTrendingAll(String timeWindow, Integer page) {
+        boolean week = timeWindow != null && timeWindow.equals("week");
+        return getList(week ? TmdbListType.TRENDING_WEEK : TmdbListType.TRENDING_DAY, page);
     }
 
 //    熱門電影
     @Override
-    public JsonNode getPopularMovies(Integer page) {
-        return fetchPopularMoviePage(page);
+    public TmdbListPage getPopularMovies(Integer page) {
+        return getList(TmdbListType.POPULAR_MOVIES, page);
     }
 
 //    熱門電視節目
     @Override
-    public JsonNode getPopularTv(Integer page) {
+    public TmdbListPage getPopularTv(Integer page) {
+        return getList(TmdbListType.POPULAR_TV, page);
+    }
+
+//    熱門動畫
+    @Override
+    public TmdbListPage getPopularAnimation(Integer page) {
+        return getList(TmdbListType.POPULAR_ANIME, page);
+    }
+
+//    熱門電視劇
+    @Override
+    public TmdbListPage getPopularDrama(Integer page) {
+        return getList(TmdbListType.POPULAR_DRAMA, page);
+    }
+
+//    熱門綜藝
+    @Override
+    public TmdbListPage getPopularVariety(Integer page) {
+        return getList(TmdbListType.POPULAR_VARIETY, page);
+    }
+
+//    熱門紀錄片
+    @Override
+    public TmdbListPage getPopularDocumentary(Integer page) {
+        return getList(TmdbListType.POPULAR_DOCUMENTARY, page);
+    }
+
+//    熱門兒童節目
+    @Override
+    public TmdbListPage getPopularChildren(Integer page) {
+        return getList(TmdbListType.POPULAR_CHILDREN, page);
+    }
+
+//    熱門脫口秀
+    @Override
+    public TmdbListPage getPopularTalkShow(Integer page) {
+        return getList(TmdbListType.POPULAR_TALK_SHOW, page);
+    }
+
+//    即將上映
+    @Override
+    public TmdbListPage getUpcomingMovies(Integer page) {
+        return getList(TmdbListType.UPCOMING, page);
+    }
+
+//    現正熱映
+    @Override
+    public TmdbListPage getNowPlayingMovies(Integer page) {
+        return getList(TmdbListType.NOW_PLAYING, page);
+    }
+
+//    好評推薦
+    @Override
+    public TmdbListPage getTopRatedMovies(Integer page) {
+        return getList(TmdbListType.TOP_RATED, page);
+    }
+
+//    熱門人物
+    @Override
+    public TmdbListPage getPopularPerson(Integer page) {
+        return getList(TmdbListType.POPULAR_PERSON, page);
+    }
+
+    @Override
+    public TmdbListPage getLiveList(TmdbListType list, Integer page) {
+        int finalPage = (page == null || page < 1) ? 1 : page;
+        return switch (list) {
+            case TRENDING_DAY -> fetchTrending("day", finalPage);
+            case TRENDING_WEEK -> fetchTrending("week", finalPage);
+            case POPULAR_MOVIES -> fetchPopularMovies(finalPage);
+            case POPULAR_TV -> fetchPopularTv(finalPage);
+            case POPULAR_ANIME -> fetchPopularAnimation(finalPage);
+            case POPULAR_DRAMA -> fetchPopularDrama(finalPage);
+            case POPULAR_VARIETY -> fetchPopularVariety(finalPage);
+            case POPULAR_DOCUMENTARY -> fetchPopularDocumentary(finalPage);
+            case POPULAR_CHILDREN -> fetchPopularChildren(finalPage);
+            case POPULAR_TALK_SHOW -> fetchPopularTalkShow(finalPage);
+            case UPCOMING, NOW_PLAYING -> releaseWindowPage(list, LocalDate.now(clock), finalPage);
+            case TOP_RATED -> fetchTopRatedMovies(finalPage);
+            case POPULAR_PERSON -> fetchPopularPerson(finalPage);
+        };
+    }
+
+    @Override
+    public TmdbListPage getList(TmdbListType list, Integer page) {
+        if (catalogEnabled && !list.isReleaseWindow()) {
+            int finalPage = (page == null || page < 1) ? 1 : page;
+            try {
+                TmdbListPage stored = tmdbCatalogService.findPage(list, finalPage);
+                if (stored != null) return stored;
+            } catch (Exception e) {
+                // 資料庫有問題時不影響列表，直接改打 TMDB
+                log.warn("讀取本地目錄失敗，改由 TMDB 取得: {} 第 {} 頁 ({})", list.value(), finalPage, e.getMessage());
+            }
+        }
+        return getLiveList(list, page);
+    }
+
+    /**
+     * 每天台灣時間 23:50 預先載入隔天的現正熱映 / 即將上映
+     * 隔天的 release_date 期間是新的查詢條件，先載入可避免午夜過後第一批請求全部打到 TMDB
+     */
+    @Override
+    @Scheduled(cron = "${tmdb.release-window.prewarm-cron:0 50 23 * * *}", zone = "${app.time-zone:Asia/Taipei}")
+    public void prewarmReleaseWindows() {
+        LocalDate tomorrow = LocalDate.now(clock).plusDays(1);
+
+        for (TmdbListType list : List.of(TmdbListType.NOW_PLAYING, TmdbListType.UPCOMING)) {
+            for (int page = 1; page <= releaseWindowPrewarmPages; page++) {
+                try {
+                    releaseWindowPage(list, tomorrow, page);
+                } catch (Exception e) {
+                    log.warn("預先載入隔天列表失敗: {} 第 {} 頁 ({})", list.value(), page, e.getMessage());
+                    break;
+                }
+            }
+        }
+        log.info("已預先載入 {} 的現正熱映 / 即將上映", tomorrow);
+    }
+
+    // 依營業日快取，同一天內 key 固定，過了台灣時間午夜才換成新的一天
+    private TmdbListPage releaseWindowPage(TmdbListType list, LocalDate businessDate, int page) {
+        String key = list.value() + ":" + businessDate + ":" + page;
+
+        WindowedPage windowed = releaseWindowCache.get(key, k -> {
+            TmdbListPage loaded = (list == TmdbListType.NOW_PLAYING)
+                    ? fetchNowPlayingMovies(businessDate, page)
+                    : fetchUpcomingMovies(page);
+            return (loaded != null) ? new WindowedPage(businessDate, loaded) : null;
+        });
+        return (windowed != null) ? windowed.page() : null;
+    }
+
+    // 保留到該營業日結束，最長 max-age (避免整天都不更新熱度排序)
+    private Duration releaseWindowTtl(LocalDate businessDate) {
+        ZonedDateTime endOfDay = businessDate.plusDays(1).atStartOfDay(clock.getZone());
+        Duration untilEndOfDay = Duration.between(ZonedDateTime.now(clock), endOfDay);
+
+        if (untilEndOfDay.isNegative()) return Duration.ZERO;
+        return (untilEndOfDay.compareTo(releaseWindowMaxAge) < 0) ? untilEndOfDay : releaseWindowMaxAge;
+    }
+
+    // ===================================================================================
+    // TMDB 即時列表
+    // ===================================================================================
+
+//    今日/本週趨勢
+    private TmdbListPage fetchTrending(String timeWindow, Integer page) {
+        TmdbListPage result = fetchListFromTmdb(new String[]{"trending", "all", timeWindow}, Map.of("page", String.valueOf(page)));
+        return filterOutPerson(result);
+    }
+
+//    熱門電影
+    private TmdbListPage fetchPopularMovies(Integer page) {
+        return fetchPopularMoviePage(page);
+    }
+
+//    熱門電視節目
+    private TmdbListPage fetchPopularTv(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("sort_by", "popularity.desc");
         params.put("without_genres", "16,10764"); // 排除動畫與綜藝
 
-        JsonNode result = fetchListFromTmdb(new String[]{"discover", "tv"}, params);
+        TmdbListPage result = fetchListFromTmdb(new String[]{"discover", "tv"}, params);
         return filterOutGenres(result, Set.of(16, 10764));
     }
 
 //    熱門動畫
-    @Override
-    public JsonNode getPopularAnimation(Integer page) {
+    private TmdbListPage fetchPopularAnimation(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("with_genres", "16");
@@ -150,8 +413,7 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     }
 
 //    熱門電視劇
-    @Override
-    public JsonNode getPopularDrama(Integer page) {
+    private TmdbListPage fetchPopularDrama(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("with_genres", "18");
@@ -159,13 +421,12 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
         params.put("sort_by", "popularity.desc");
         params.put("with_original_language", "zh|ko|ja|en");
 
-        JsonNode result = fetchListFromTmdb(new String[]{"discover", "tv"}, params);
+        TmdbListPage result = fetchListFromTmdb(new String[]{"discover", "tv"}, params);
         return filterOutGenres(result, Set.of(16, 10764));
     }
 
 //    熱門綜藝
-    @Override
-    public JsonNode getPopularVariety(Integer page) {
+    private TmdbListPage fetchPopularVariety(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("with_genres", "10764");
@@ -175,8 +436,7 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     }
 
 //    熱門紀錄片
-    @Override
-    public JsonNode getPopularDocumentary(Integer page) {
+    private TmdbListPage fetchPopularDocumentary(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("with_genres", "99");
@@ -185,8 +445,7 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     }
 
 //    熱門兒童節目
-    @Override
-    public JsonNode getPopularChildren(Integer page) {
+    private TmdbListPage fetchPopularChildren(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("with_genres", "10762");
@@ -194,8 +453,7 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     }
 
 //    熱門脫口秀
-    @Override
-    public JsonNode getPopularTalkShow(Integer page) {
+    private TmdbListPage fetchPopularTalkShow(Integer page) {
         Map<String, String> params = new HashMap<>();
         params.put("page", String.valueOf(page));
         params.put("with_genres", "10767");
@@ -204,16 +462,13 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
     }
 
 //    即將上映
-    @Override
-    public JsonNode getUpcomingMovies(Integer page) {
+    private TmdbListPage fetchUpcomingMovies(Integer page) {
         return fetchListFromTmdb(new String[]{"movie", "upcoming"}, Map.of("page", String.valueOf(page), "region", "TW"));
     }
 
-//    現正熱映
-    @Override
-    public JsonNode getNowPlayingMovies(Integer page) {
-        LocalDate now = LocalDate.now();
-        LocalDate startDate = now.minusDays(45);
+//    現正熱映 (以營業日為基準的上映期間)
+    private TmdbListPage fetchNowPlayingMovies(LocalDate businessDate, Integer page) {
+        LocalDate startDate = businessDate.minusDays(45);
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         Map<String, String> params = new HashMap<>();
@@ -221,148 +476,132 @@ public class TmdbDiscoverServiceImpl implements TmdbDiscoverService {
         params.put("region", "TW");
         params.put("sort_by", "popularity.desc");
         params.put("release_date.gte", startDate.format(formatter));
-        params.put("release_date.lte", now.format(formatter));
+        params.put("release_date.lte", businessDate.format(formatter));
         params.put("with_release_type", "2|3"); // 2: 有限上映, 3: 院線上映
 
         return fetchListFromTmdb(new String[]{"discover", "movie"}, params);
     }
 
 //    好評推薦
-    public JsonNode getTopRatedMovies(Integer page) {
+    private TmdbListPage fetchTopRatedMovies(Integer page) {
         return fetchListFromTmdb(new String[]{"movie", "top_rated"}, Map.of("page", String.valueOf(page), "region", "TW"));
     }
 
     //    熱門人物
-    @Override
-    public JsonNode getPopularPerson(Integer page) {
+    private TmdbListPage fetchPopularPerson(Integer page) {
         return fetchListFromTmdb(new String[]{"person", "popular"}, Map.of("page", String.valueOf(page)));
     }
 
     //    最新預告片
     @Override
     public String getMovieTrailer(long movieId) {
-        return fetchTrailerInternal(movieId, "movie");
+        return tmdbTrailerService.getTrailerUrl(movieId, "movie");
     }
 
-    // ===================================================================================
-    // 通用輔助方法
-    // ===================================================================================
-
-    private String fetchTrailerInternal(long id, String endpointPrefix) {
-        if (id == 0) return null;
-
-        Map<String, String> qp = new HashMap<>();
-        qp.put("language", defaultLanguage);
-        qp.put("include_video_language", "zh,en");
-
+    /**
+     * 定期預熱預告片索引 (放在這裡是因為需要列表資料，TmdbTrailerService 不依賴本服務)
+     * 現正熱映與本日 / 本週趨勢的項目最常被點開，預先查好預告片
+     */
+    @Override
+    @Scheduled(
+            initialDelayString = "${tmdb.trailer.warm-up-delay:1m}",
+            fixedDelayString = "${tmdb.trailer.warm-up-interval:6h}"
+    )
+    public void warmUpTrailers() {
+        Set<TmdbTitleRef> titles = new LinkedHashSet<>();
         try {
-            JsonNode videoNode = tmdbClient.get(new String[]{endpointPrefix, String.valueOf(id), "videos"}, qp);
-            return findTrailerUrl(videoNode);
+            collectTitles(titles, getNowPlayingMovies(1), MediaType.movie);
+            collectTitles(titles, getTrendingAll("day", 1), null);
+            collectTitles(titles, getTrendingAll("week", 1), null);
         } catch (Exception e) {
-            log.warn("取得預告片失敗: {}", e.getMessage());
-            return null; // 同步方法直接回傳 null
+            log.warn("預告片預熱時取得列表失敗: {}", e.getMessage());
         }
+
+        if (!titles.isEmpty()) tmdbTrailerService.warmUp(titles);
     }
 
-    private JsonNode fetchListFromTmdb(String[] path, Map<String, String> extraParams) {
+    // ===================================================================================
+    // 通用輔助方法
+    // ===================================================================================
+
+    private TmdbListPage fetchListFromTmdb(String[] path, Map<String, String> extraParams) {
         Map<String, String> qp = new HashMap<>();
         qp.put("language", defaultLanguage);
         qp.put("include_adult", "false");
         qp.putAll(extraParams);
 
-        JsonNode result = tmdbClient.get(path, qp);
-        return tmdbResponseTransformerService.transformSearchResponse(result);
+        // 列表資料允許短暫過期，先回傳快取再背景更新 (串流解析成 record 並加工圖片網址)
+        return tmdbClient.getStaleWhileRevalidate(path, qp, tmdbResponseTransformerService::decodeListResponse);
     }
 
-    private JsonNode fetchPopularMoviePage(Integer page) {
+    private TmdbListPage fetchPopularMoviePage(Integer page) {
         String pageStr = String.valueOf(page == null || page < 1 ? 1 : page);
 
-        JsonNode result = tmdbClient.get(new String[]{"movie", "popular"},
-                Map.of("language", defaultLanguage, "page", pageStr));
-
-        return tmdbResponseTransformerService.transformSearchResponse(result);
+        return tmdbClient.getStaleWhileRevalidate(new String[]{"movie", "popular"},
+                Map.of("language", defaultLanguage, "page", pageStr),
+                tmdbResponseTransformerService::decodeListResponse);
     }
 
-    private JsonNode filterOutGenres(JsonNode rootNode, Set<Integer> bannedIds) {
-        if (rootNode.has("results") && rootNode.get("results").isArray()) {
-            ArrayNode results = (ArrayNode) rootNode.get("results");
-            Iterator<JsonNode> iterator = results.iterator();
+    // 列表項目轉成 TMDB 項目，列表本身沒有 media_type 時使用 defaultType
+    private void collectTitles(Set<TmdbTitleRef> titles, TmdbListPage listPage, MediaType defaultType) {
+        if (listPage == null) return;
 
-            while (iterator.hasNext()) {
-                JsonNode item = iterator.next();
-                JsonNode genreIds = item.get("genre_ids");
-                boolean shouldRemove = false;
+        for (TmdbListItem item : listPage.results()) {
+            if (item.id() == null) continue;
 
-                if (genreIds != null && genreIds.isArray()) {
-                    for (JsonNode idNode : genreIds) {
-                        if (bannedIds.contains(idNode.asInt())) {
-                            shouldRemove = true;
-                            break;
-                        }
-                    }
+            MediaType type = defaultType;
+            if (item.mediaType() != null) {
+                try {
+                    type = MediaType.valueOf(item.mediaType());
+                } catch (IllegalArgumentException e) {
+                    continue;
                 }
-                if (shouldRemove) iterator.remove();
             }
+            if (type != null && type != MediaType.person) titles.add(new TmdbTitleRef(type, item.id()));
         }
-
-        return rootNode;
     }
 
-    private JsonNode filterOutPerson(JsonNode rootNode) {
-        if (rootNode.has("results") && rootNode.get("results").isArray()) {
-            ArrayNode results = (ArrayNode) rootNode.get("results");
-            Iterator<JsonNode> iterator = results.iterator();
+    private TmdbListPage filterOutGenres(TmdbListPage listPage, Set<Integer> bannedIds) {
+        if (listPage == null) return null;
 
-            while (iterator.hasNext()) {
-                JsonNode node = iterator.next();
-                if ("person".equals(node.path("media_type").asText())) {
-                    iterator.remove();
-                }
-            }
-        }
+        List<TmdbListItem> filtered = listPage.results().stream()
+                .filter(item -> bannedIds.stream().noneMatch(item::hasGenre))
+                .toList();
 
-        return rootNode;
+        return listPage.withResults(filtered);
     }
 
-    private String findTrailerUrl(JsonNode videoNode) {
-        JsonNode results = videoNode.path("results");
-        if (!results.isArray() || results.isEmpty()) return null;
+    private TmdbListPage filterOutPerson(TmdbListPage listPage) {
+        if (listPage == null) return null;
 
-        String fallbackTrailer = null;
-        String chineseTrailer = null;
+        List<TmdbListItem> filtered = listPage.results().stream()
+                .filter(item -> !"person".equals(item.mediaType()))
+                .toList();
 
-        for (JsonNode video : results) {
-            if ("YouTube".equals(video.path("site").asText())) {
-                String key = video.path("key").asText(null);
-                if (key == null) continue;
+        return listPage.withResults(filtered);
+    }
 
-                String url = "https://www.youtube.com/embed/" + key;
-                String type = video.path("type").asText();
+    // 營業日快取的列表頁
+    private record WindowedPage(LocalDate businessDate, TmdbListPage page) {
+    }
 
-                if ("Trailer".equals(type)) {
-                    if ("zh".equals(video.path("iso_639_1").asText(""))) {
-                        chineseTrailer = url;
-                        break;
-                    }
-                    if (fallbackTrailer == null) fallbackTrailer = url;
-                }
-                if ("Teaser".equals(type) && fallbackTrailer == null) {
-                    fallbackTrailer = url;
-                }
-            }
-        }
+    // 同步建立的進行狀態，建立中的一律共用，完成後超過 backoff 才允許重新建立
+    private record HeroColdBuild(CompletableFuture<List<HeroEntry>> future, Instant startedAt) {
 
-        return (chineseTrailer != null) ? chineseTrailer : fallbackTrailer;
+        boolean isExpired(Instant now, Duration backoff) {
+            return future.isDone() && !now.isBefore(startedAt.plus(backoff));
+        }
     }
 
-    private Map<String, String> getBackdropUrls(String backdropPath) {
-        String desktopUrl = tmdbGetImageService.getFullImageUrl(backdropPath, "w1280");
-        String mobileUrl = tmdbGetImageService.getFullImageUrl(backdropPath, "w780");
+    // Hero 候選項目，背景圖網址與預告片皆已預先解析
+    private record HeroEntry(String backdropDesktopUrl, String backdropMobileUrl, String trailerUrl) {
 
-        Map<String, String> urls = new HashMap<>();
-        urls.put("backdropDesktopUrl", desktopUrl);
-        urls.put("backdropMobileUrl", mobileUrl);
-
-        return urls;
+        Map<String, String> toResponse() {
+            Map<String, String> urls = new HashMap<>();
+            urls.put("backdropDesktopUrl", backdropDesktopUrl);
+            urls.put("backdropMobileUrl", backdropMobileUrl);
+            urls.put("trailerUrl", trailerUrl); // 即使是 null 也放入
+            return urls;
+        }
     }
 }
\ No newline at end of file
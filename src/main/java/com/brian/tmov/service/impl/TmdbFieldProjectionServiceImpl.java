@@ -0,0 +1,131 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.service.TmdbFieldProjectionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class TmdbFieldProjectionServiceImpl implements TmdbFieldProjectionService {
+
+    // 編譯後的欄位遮罩，key 為原始 fields 參數 (前端通常只會用少數幾種組合)
+    private final Cache<String, FieldMask> masks;
+
+    private final int maxPaths;
+
+    public TmdbFieldProjectionServiceImpl(
+            @Value("${tmdb.fields.mask-cache-size:500}") long maskCacheSize,
+            @Value("${tmdb.fields.max-paths:100}") int maxPaths
+    ) {
+        this.masks = Caffeine.newBuilder()
+                .maximumSize(maskCacheSize)
+                .build();
+        this.maxPaths = maxPaths;
+    }
+
+    @Override
+    public JsonNode project(JsonNode node, String fields) {
+        if (node == null || fields == null || fields.isBlank()) return node;
+
+        FieldMask mask = masks.get(fields, this::compile);
+        JsonNode projected = mask.apply(node);
+        return (projected != null) ? projected : JsonNodeFactory.instance.objectNode();
+    }
+
+//    將 fields 參數編譯成欄位樹，例如 "id,credits.cast.name" -> {id, credits: {cast: {name}}}
+    private FieldMask compile(String fields) {
+        MutableMask root = new MutableMask();
+        int paths = 0;
+
+        for (String rawPath : fields.split(",")) {
+            String path = rawPath.trim();
+            if (path.isEmpty()) continue;
+
+            if (++paths > maxPaths) {
+                throw new IllegalArgumentException("fields 參數最多只能指定 " + maxPaths + " 個欄位");
+            }
+
+            MutableMask current = root;
+            for (String segment : path.split("\\.", -1)) {
+                if (segment.isBlank()) {
+                    throw new IllegalArgumentException("fields 參數格式不正確: " + path);
+                }
+                current = current.child(segment.trim());
+            }
+            // 指定到這一層代表保留整個子樹 (例如同時有 "credits" 與 "credits.cast.name" 時以 "credits" 為準)
+            current.keepAll = true;
+        }
+
+        if (paths == 0) {
+            throw new IllegalArgumentException("fields 參數格式不正確: " + fields);
+        }
+        return root.freeze();
+    }
+
+    // 編譯過程中使用的可變欄位樹
+    private static class MutableMask {
+
+        private final Map<String, MutableMask> children = new LinkedHashMap<>();
+
+        private boolean keepAll;
+
+        MutableMask child(String name) {
+            return children.computeIfAbsent(name, k -> new MutableMask());
+        }
+
+        FieldMask freeze() {
+            if (keepAll) return FieldMask.ALL;
+
+            // 保留 fields 參數中的順序，輸出的欄位順序與請求一致
+            Map<String, FieldMask> frozen = new LinkedHashMap<>();
+            children.forEach((name, child) -> frozen.put(name, child.freeze()));
+            return new FieldMask(Collections.unmodifiableMap(frozen));
+        }
+    }
+
+    /**
+     * 不可變的欄位遮罩，children 為 null 代表保留整個子樹
+     * 投影時只建立新的物件與陣列節點，保留的葉節點直接共用原節點，不會修改來源 (可能來自快取)
+     */
+    private record FieldMask(Map<String, FieldMask> children) {
+
+        static final FieldMask ALL = new FieldMask(null);
+
+        JsonNode apply(JsonNode node) {
+            if (children == null) return node;
+
+            if (node.isObject()) {
+                ObjectNode result = JsonNodeFactory.instance.objectNode();
+                children.forEach((name, child) -> {
+                    JsonNode value = node.get(name);
+                    if (value == null) return;
+
+                    JsonNode projected = child.apply(value);
+                    if (projected != null) result.set(name, projected);
+                });
+                return result;
+            }
+
+            if (node.isArray()) {
+                ArrayNode result = JsonNodeFactory.instance.arrayNode(node.size());
+                for (JsonNode element : node) {
+                    JsonNode projected = apply(element);
+                    if (projected != null) result.add(projected);
+                }
+                return result;
+            }
+
+            // 純值沒有子欄位可選
+            return null;
+        }
+    }
+}
@@ -19,10 +19,6 @@ public class TmdbGetImageServiceImpl implements TmdbGetImageService {
 
     private String imageBaseUrl = "https://image.tmdb.org/t/p/";
 
-    private static final String DEFAULT_POSTER_SIZE = "w780";
-    private static final String DEFAULT_BACKDROP_SIZE = "w1280";
-    private static final String DEFAULT_PROFILE_SIZE = "h632";
-
     @PostConstruct
     public void init() {
         log.info("正在初始化 TmdbGetImageService，準備呼叫 TMDB /configuration API...");
@@ -50,9 +46,14 @@ public class TmdbGetImageServiceImpl implements TmdbGetImageService {
             return null;
         }
 
+        return getImageUrlPrefix(size) + path;
+    }
+
+    @Override
+    public String getImageUrlPrefix(String size) {
         String baseUrl = (this.imageBaseUrl != null) ? this.imageBaseUrl : "https://image.tmdb.org/t/p/";
 
-        return baseUrl + size + path;
+        return baseUrl + size;
     }
 
     @Override
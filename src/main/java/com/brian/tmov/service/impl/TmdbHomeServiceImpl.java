@@ -0,0 +1,117 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.dto.response.TmdbHomeResponse;
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.exception.DownstreamException;
+import com.brian.tmov.service.TmdbDiscoverService;
+import com.brian.tmov.service.TmdbHomeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class TmdbHomeServiceImpl implements TmdbHomeService {
+
+    @Autowired
+    private TmdbDiscoverService tmdbDiscoverService;
+
+    // 每個區塊的等待上限，超過就略過該區塊，不拖慢整個首頁
+    @Value("${tmdb.home.section-timeout:1500ms}")
+    private Duration sectionTimeout;
+
+    private static final String HERO = "hero";
+
+    /**
+     * 以 StructuredTaskScope 同時執行所有區塊
+     * 1. 每個區塊各自 fork 成一個虛擬執行緒
+     * 2. 最多等待 section-timeout，逾時的區塊會被中斷
+     * 3. 失敗或逾時的區塊放入 unavailable，其餘區塊照常回傳
+     */
+    @Override
+    public TmdbHomeResponse getHomeFeed() {
+        // 子任務也要帶入 request 屬性，備援快照的舊資料標記才能反映到這次回應
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        Map<String, Callable<TmdbListPage>> sectionTasks = new LinkedHashMap<>();
+        sectionTasks.put("trending", () -> tmdbDiscoverService.getTrendingAll("day", 1));
+        sectionTasks.put("popular_movies", () -> tmdbDiscoverService.getPopularMovies(1));
+        sectionTasks.put("popular_tv", () -> tmdbDiscoverService.getPopularTv(1));
+        sectionTasks.put("popular_anime", () -> tmdbDiscoverService.getPopularAnimation(1));
+        sectionTasks.put("popular_drama", () -> tmdbDiscoverService.getPopularDrama(1));
+        sectionTasks.put("popular_variety", () -> tmdbDiscoverService.getPopularVariety(1));
+        sectionTasks.put("now_playing", () -> tmdbDiscoverService.getNowPlayingMovies(1));
+        sectionTasks.put("upcoming", () -> tmdbDiscoverService.getUpcomingMovies(1));
+
+        try (var scope = new StructuredTaskScope<Object>()) {
+            Subtask<Map<String, String>> hero = scope.fork(withRequestAttributes(attributes,
+                    () -> tmdbDiscoverService.getRandomPopularBackdrops("movie")));
+
+            Map<String, Subtask<TmdbListPage>> sectionSubtasks = new LinkedHashMap<>();
+            sectionTasks.forEach((name, task) ->
+                    sectionSubtasks.put(name, scope.fork(withRequestAttributes(attributes, task))));
+
+            try {
+                scope.joinUntil(Instant.now().plus(sectionTimeout));
+            } catch (TimeoutException e) {
+                // shutdown 會中斷尚未完成的區塊，之後必須再 join 一次 (會立即返回) 才能讀取子任務結果
+                scope.shutdown();
+                scope.join();
+            }
+
+            List<String> unavailable = new ArrayList<>();
+            Map<String, String> heroResult = resultOf(HERO, hero, unavailable);
+
+            Map<String, TmdbListPage> sections = new LinkedHashMap<>();
+            sectionSubtasks.forEach((name, subtask) -> {
+                TmdbListPage page = resultOf(name, subtask, unavailable);
+                if (page != null) sections.put(name, page);
+            });
+
+            if (!unavailable.isEmpty()) {
+                log.warn("首頁部分區塊無法取得: {}", unavailable);
+            }
+            return new TmdbHomeResponse(heroResult, sections, unavailable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamException("等待首頁區塊時被中斷", e);
+        }
+    }
+
+    private <T> T resultOf(String name, Subtask<T> subtask, List<String> unavailable) {
+        switch (subtask.state()) {
+            case SUCCESS -> {
+                return subtask.get();
+            }
+            case FAILED -> log.warn("首頁區塊 {} 失敗: {}", name, subtask.exception().getMessage());
+            case UNAVAILABLE -> log.warn("首頁區塊 {} 超過 {} 未完成", name, sectionTimeout);
+        }
+        unavailable.add(name);
+        return null;
+    }
+
+    private <T> Callable<T> withRequestAttributes(RequestAttributes attributes, Callable<T> task) {
+        return () -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return task.call();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+}
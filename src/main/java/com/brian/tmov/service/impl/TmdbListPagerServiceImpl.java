@@ -0,0 +1,260 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.dto.response.TmdbCursorPage;
+import com.brian.tmov.dto.response.TmdbListItem;
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.enums.TmdbListType;
+import com.brian.tmov.service.TmdbDiscoverService;
+import com.brian.tmov.service.TmdbListPagerService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class TmdbListPagerServiceImpl implements TmdbListPagerService {
+
+    @Autowired
+    private TmdbDiscoverService tmdbDiscoverService;
+
+    // 每頁固定回傳的筆數
+    @Value("${tmdb.pager.page-size:20}")
+    private int pageSize;
+
+    // 單次請求最多往後讀幾個 TMDB 頁面來補齊 (避免過濾後幾乎沒有資料時一直往後抓)
+    @Value("${tmdb.pager.max-upstream-pages:5}")
+    private int maxUpstreamPages;
+
+    // 回傳一頁後是否在背景預先載入下一頁
+    @Value("${tmdb.pager.prefetch:true}")
+    private boolean prefetchEnabled;
+
+    // 已過濾的 TMDB 頁面，key 為 "list:page"，載入中的頁面也在快取內 (同一頁只會載入一次)
+    private final AsyncCache<String, CachedPage> filteredPages;
+
+    // 預先載入使用的虛擬執行緒 (實際併發由 TmdbOutboundLimiter 控制)
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final MeterRegistry registry;
+
+    // 預先載入的指標，key 為 "list:outcome"
+    private final Map<String, Counter> prefetchCounters = new ConcurrentHashMap<>();
+
+    private final LongAdder prefetchHits = new LongAdder();
+
+    private final LongAdder prefetchMisses = new LongAdder();
+
+    public TmdbListPagerServiceImpl(
+            @Value("${tmdb.pager.cache-ttl:10m}") Duration cacheTtl,
+            @Value("${tmdb.pager.cache-maximum-size:2000}") long cacheMaximumSize,
+            MeterRegistry registry
+    ) {
+        this.filteredPages = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .buildAsync();
+        this.registry = registry;
+    }
+
+    // 建構完成後才註冊 (gauge 會持有 this)
+    @PostConstruct
+    public void registerMetrics() {
+        // 接續請求 (帶 cursor) 需要的頁面中，已由預先載入放進快取的比例
+        Gauge.builder("tmdb.pager.prefetch.hit.ratio", this, TmdbListPagerServiceImpl::prefetchHitRatio)
+                .description("接續分頁命中預先載入的比例")
+                .register(registry);
+    }
+
+    /**
+     * 從 cursor 記錄的 TMDB 頁面與位移開始讀取
+     * 1. 依序讀取過濾後的 TMDB 頁面 (優先使用快取)，直到湊滿 page-size
+     * 2. 記下停止時的 TMDB 頁面與位移，編碼成下一頁的 cursor
+     * 3. 在背景預先載入下一個 cursor 會用到的頁面
+     */
+    @Override
+    public TmdbCursorPage getPage(String list, String cursor) {
+        TmdbListType listType = TmdbListType.from(list);
+
+        boolean continuation = cursor != null && !cursor.isBlank();
+        Cursor position = continuation ? Cursor.decode(cursor) : new Cursor(listType.value(), 1, 0);
+        if (!position.list().equals(listType.value())) {
+            throw new IllegalArgumentException("cursor 與列表不符");
+        }
+
+        List<TmdbListItem> items = new ArrayList<>(pageSize);
+        int page = position.page();
+        int offset = position.offset();
+        int totalPages = Integer.MAX_VALUE;
+        int upstreamPages = 0;
+
+        while (items.size() < pageSize && page <= totalPages && upstreamPages < maxUpstreamPages) {
+            TmdbListPage filtered = filteredPage(listType, page, continuation);
+            upstreamPages++;
+            if (filtered == null) break;
+
+            totalPages = filtered.totalPages();
+            List<TmdbListItem> results = filtered.results();
+
+            int start = Math.min(offset, results.size());
+            int take = Math.min(pageSize - items.size(), results.size() - start);
+            items.addAll(results.subList(start, start + take));
+            offset = start + take;
+
+            if (offset >= results.size()) {
+                page++;
+                offset = 0;
+            }
+        }
+
+        if (page > totalPages) {
+            return new TmdbCursorPage(items, null);
+        }
+
+        prefetch(listType, page, totalPages);
+        return new TmdbCursorPage(items, new Cursor(listType.value(), page, offset).encode());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // continuation 為 true 時記錄這一頁是否已由預先載入準備好 (預先載入還在進行中時直接等待它完成，也算命中)
+    private TmdbListPage filteredPage(TmdbListType list, int page, boolean continuation) {
+        String key = list.value() + ":" + page;
+
+        CompletableFuture<CachedPage> loading = new CompletableFuture<>();
+        CompletableFuture<CachedPage> existing = filteredPages.asMap().putIfAbsent(key, loading);
+
+        if (existing != null) {
+            try {
+                CachedPage cached = existing.join();
+                if (cached != null) {
+                    // 同一個預先載入的頁面只算一次命中
+                    if (cached.claimPrefetch()) recordPrefetch(list, "hit");
+                    return cached.page();
+                }
+            } catch (CompletionException e) {
+                // 預先載入失敗時改由這次請求自己載入
+            }
+            filteredPages.asMap().remove(key, existing);
+            return filteredPage(list, page, continuation);
+        }
+
+        if (continuation) recordPrefetch(list, "miss");
+
+        try {
+            TmdbListPage loaded = tmdbDiscoverService.getList(list, page);
+            // 結果為 null 時快取會自動移除這個項目
+            loading.complete((loaded != null) ? new CachedPage(loaded, false) : null);
+            return loaded;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 下一頁從 page 開始讀取，過濾後筆數不足時也會用到 page + 1
+    private void prefetch(TmdbListType list, int page, int totalPages) {
+        if (!prefetchEnabled) return;
+
+        for (int p = page; p <= Math.min(page + 1, totalPages); p++) {
+            String key = list.value() + ":" + p;
+
+            // 先放入未完成的 future，接續請求會直接等待這次載入，不會重複呼叫
+            CompletableFuture<CachedPage> loading = new CompletableFuture<>();
+            if (filteredPages.asMap().putIfAbsent(key, loading) != null) continue;
+
+            int target = p;
+            executor.execute(() -> {
+                try {
+                    TmdbListPage loaded = tmdbDiscoverService.getList(list, target);
+                    loading.complete((loaded != null) ? new CachedPage(loaded, true) : null);
+                    if (loaded != null) recordPrefetch(list, "issued");
+                } catch (Exception e) {
+                    log.warn("預先載入列表失敗: {} 第 {} 頁 ({})", list.value(), target, e.getMessage());
+                    loading.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    private void recordPrefetch(TmdbListType list, String outcome) {
+        if ("hit".equals(outcome)) prefetchHits.increment();
+        if ("miss".equals(outcome)) prefetchMisses.increment();
+
+        prefetchCounters.computeIfAbsent(list.value() + ":" + outcome, k -> Counter.builder("tmdb.pager.prefetch")
+                        .description("列表分頁預先載入次數，outcome 為 issued (已載入)、hit (被接續請求使用)、miss (接續請求時尚未載入)")
+                        .tag("list", list.value())
+                        .tag("outcome", outcome)
+                        .register(registry))
+                .increment();
+    }
+
+    private double prefetchHitRatio() {
+        long hits = prefetchHits.sum();
+        long total = hits + prefetchMisses.sum();
+        return (total == 0) ? 0 : (double) hits / total;
+    }
+
+    // 快取中的過濾後頁面，prefetched 表示由預先載入放入且尚未被使用
+    private record CachedPage(TmdbListPage page, AtomicBoolean prefetched) {
+
+        CachedPage(TmdbListPage page, boolean prefetched) {
+            this(page, new AtomicBoolean(prefetched));
+        }
+
+        // 第一個使用預先載入頁面的請求回傳 true
+        boolean claimPrefetch() {
+            return prefetched.compareAndSet(true, false);
+        }
+    }
+
+    // 分頁位置：下一筆要讀取的 TMDB 頁面與該頁 (過濾後) 的位移，對外以 base64 編碼
+    record Cursor(String list, int page, int offset) {
+
+        String encode() {
+            String raw = list + ":" + page + ":" + offset;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split(":");
+                if (parts.length != 3) throw new IllegalArgumentException("cursor 格式錯誤");
+
+                int page = Integer.parseInt(parts[1]);
+                int offset = Integer.parseInt(parts[2]);
+                if (page < 1 || offset < 0) throw new IllegalArgumentException("cursor 格式錯誤");
+
+                return new Cursor(parts[0], page, offset);
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException 與 Base64 解碼錯誤都是 IllegalArgumentException
+                throw new IllegalArgumentException("無效的 cursor", e);
+            }
+        }
+    }
+}
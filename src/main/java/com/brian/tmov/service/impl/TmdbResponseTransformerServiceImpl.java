@@ -1,65 +1,148 @@
 package com.brian.tmov.service.impl;
 
+import com.brian.tmov.dto.response.TmdbListItem;
+import com.brian.tmov.dto.response.TmdbListPage;
 import com.brian.tmov.service.TmdbGetImageService;
 import com.brian.tmov.service.TmdbResponseTransformerService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 @Service
 public class TmdbResponseTransformerServiceImpl implements TmdbResponseTransformerService {
 
     @Autowired
     private TmdbGetImageService tmdbGetImageService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private static final int MAX_TMDB_PAGES = 500;
 
     @Override
-    public JsonNode transformSearchResponse(JsonNode responseNode) {
-        // 檢查基本結構
-        if (responseNode == null) {
-            return null;
-        }
+    public TmdbListPage decodeListResponse(byte[] body) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
 
-        // 限制 total_pages 上限
-        if (responseNode.has("total_pages") && responseNode instanceof ObjectNode) {
-            int totalPages = responseNode.get("total_pages").asInt();
-            if (totalPages > MAX_TMDB_PAGES) {
-                ((ObjectNode) responseNode).put("total_pages", MAX_TMDB_PAGES);
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("TMDB 列表回應格式錯誤");
             }
-        }
 
-        // 檢查 results 陣列
-        if (!responseNode.has("results") || !responseNode.get("results").isArray()) {
-            return responseNode;
-        }
+            int page = 0;
+            int totalPages = 0;
+            int totalResults = 0;
+            List<TmdbListItem> results = new ArrayList<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                switch (field) {
+                    case "page" -> page = parser.getValueAsInt();
+                    case "total_pages" -> totalPages = parser.getValueAsInt();
+                    case "total_results" -> totalResults = parser.getValueAsInt();
+                    case "results" -> {
+                        if (token == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                if (parser.currentToken() == JsonToken.START_OBJECT) {
+                                    results.add(readItem(parser));
+                                } else {
+                                    parser.skipChildren();
+                                }
+                            }
+                        }
+                    }
+                    // 其他欄位 (例如 dates) 直接略過，不建立節點
+                    default -> parser.skipChildren();
+                }
+            }
 
-        // 取得 "results" 陣列
-        JsonNode results = responseNode.get("results");
+            // 限制 total_pages 上限
+            return new TmdbListPage(page, Math.min(totalPages, MAX_TMDB_PAGES), totalResults, results);
+        }
+    }
 
-        // 遍歷陣列中的每一個項目並加工圖片
-        for (JsonNode item : results) {
-            if (item.isObject()) {
-                ObjectNode objectItem = (ObjectNode) item;
+    // 讀取單一項目，只保留投影欄位並在同一次掃描中組合圖片網址
+    private TmdbListItem readItem(JsonParser parser) throws IOException {
+        Long id = null;
+        String mediaType = null;
+        String title = null;
+        String name = null;
+        String originalTitle = null;
+        String originalName = null;
+        String overview = null;
+        String posterPath = null;
+        String backdropPath = null;
+        String profilePath = null;
+        int[] genreIds = null;
+        Double voteAverage = null;
+        Integer voteCount = null;
+        Double popularity = null;
+        String releaseDate = null;
+        String firstAirDate = null;
+        String originalLanguage = null;
+        String knownForDepartment = null;
 
-                // 處理 poster_path
-                String posterPath = objectItem.path("poster_path").asText(null);
-                String fullPosterUrl = tmdbGetImageService.getDefaultPosterUrl(posterPath);
-                objectItem.put("full_poster_url", fullPosterUrl);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
 
-                // 處理 backdrop_path
-                String backdropPath = objectItem.path("backdrop_path").asText(null);
-                String fullBackdropUrl = tmdbGetImageService.getDefaultBackdropUrl(backdropPath);
-                objectItem.put("full_backdrop_url", fullBackdropUrl);
+            if (token == JsonToken.VALUE_NULL) continue;
 
-                // 處理 profile_path (用於 "person" 類型的結果)
-                String profilePath = objectItem.path("profile_path").asText(null);
-                String fullProfileUrl = tmdbGetImageService.getDefaultProfileUrl(profilePath);
-                objectItem.put("full_profile_url", fullProfileUrl);
+            switch (field) {
+                case "id" -> id = parser.getValueAsLong();
+                case "media_type" -> mediaType = parser.getValueAsString();
+                case "title" -> title = parser.getValueAsString();
+                case "name" -> name = parser.getValueAsString();
+                case "original_title" -> originalTitle = parser.getValueAsString();
+                case "original_name" -> originalName = parser.getValueAsString();
+                case "overview" -> overview = parser.getValueAsString();
+                case "poster_path" -> posterPath = parser.getValueAsString();
+                case "backdrop_path" -> backdropPath = parser.getValueAsString();
+                case "profile_path" -> profilePath = parser.getValueAsString();
+                case "genre_ids" -> genreIds = readIntArray(parser);
+                case "vote_average" -> voteAverage = parser.getValueAsDouble();
+                case "vote_count" -> voteCount = parser.getValueAsInt();
+                case "popularity" -> popularity = parser.getValueAsDouble();
+                case "release_date" -> releaseDate = parser.getValueAsString();
+                case "first_air_date" -> firstAirDate = parser.getValueAsString();
+                case "original_language" -> originalLanguage = parser.getValueAsString();
+                case "known_for_department" -> knownForDepartment = parser.getValueAsString();
+                default -> parser.skipChildren();
             }
         }
 
-        return responseNode;
+        return new TmdbListItem(
+                id, mediaType, title, name, originalTitle, originalName, overview,
+                posterPath, backdropPath, profilePath,
+                tmdbGetImageService.getDefaultPosterUrl(posterPath),
+                tmdbGetImageService.getDefaultBackdropUrl(backdropPath),
+                tmdbGetImageService.getDefaultProfileUrl(profilePath),
+                genreIds, voteAverage, voteCount, popularity,
+                releaseDate, firstAirDate, originalLanguage, knownForDepartment
+        );
+    }
+
+    private int[] readIntArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        int[] values = new int[8];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = parser.getValueAsInt();
+        }
+        return Arrays.copyOf(values, size);
     }
 }
@@ -2,10 +2,10 @@ package com.brian.tmov.service.impl;
 
 import com.brian.tmov.client.TmdbClient;
 import com.brian.tmov.dto.request.TmdbSearchQueryRequest;
+import com.brian.tmov.dto.response.TmdbListPage;
 import com.brian.tmov.enums.TmdbSearchType;
 import com.brian.tmov.service.TmdbResponseTransformerService;
 import com.brian.tmov.service.TmdbSearchService;
-import com.fasterxml.jackson.databind.JsonNode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,15 +31,13 @@ public class TmdbSearchServiceImpl implements TmdbSearchService {
     String defaultRegion;
 
     @Override
-    public JsonNode search(TmdbSearchQueryRequest query) {
+    public TmdbListPage search(TmdbSearchQueryRequest query) {
         final TmdbSearchType t = TmdbSearchType.from(query.typeOrDefault());
 
         Map<String, String> qp = getStringMap(query, t);
 
-        JsonNode result = tmdbClient.get(new String[]{"search", t.value()}, qp);
-
-        // 加工圖片網址
-        return tmdbResponseTransformerService.transformSearchResponse(result);
+        // 串流解析並加工圖片網址
+        return tmdbClient.get(new String[]{"search", t.value()}, qp, tmdbResponseTransformerService::decodeListResponse);
     }
 
     private Map<String, String> getStringMap(TmdbSearchQueryRequest query, TmdbSearchType t) {
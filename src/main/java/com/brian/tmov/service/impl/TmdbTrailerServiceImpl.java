@@ -0,0 +1,212 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.client.TmdbClient;
+import com.brian.tmov.dto.TmdbTitleRef;
+import com.brian.tmov.service.TmdbTrailerService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class TmdbTrailerServiceImpl implements TmdbTrailerService {
+
+    @Autowired
+    private TmdbClient tmdbClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${tmdb.default-language:zh-TW}")
+    String defaultLanguage;
+
+    // 索引檔位置 (重新啟動後仍可沿用)
+    @Value("${tmdb.trailer.index-file:cache/trailers.json}")
+    private String indexFile;
+
+    // 有預告片的項目多久重新確認一次 (預告片 key 幾乎不會變動)
+    @Value("${tmdb.trailer.ttl:30d}")
+    private Duration ttl;
+
+    // 沒有預告片的項目多久重新確認一次 (即將上映的電影常在上映前才補上預告片)
+    @Value("${tmdb.trailer.missing-ttl:1d}")
+    private Duration missingTtl;
+
+    // 索引最多保留幾筆 (公開 API 可以查任意 ID，必須有上限)
+    @Value("${tmdb.trailer.maximum-size:50000}")
+    private long maximumSize;
+
+    // key 為 "movie/550"，value 的 url 為 null 表示確認過沒有預告片
+    private Cache<String, TrailerIndexEntry> index;
+
+    // 索引有變動但尚未寫入檔案
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    public void load() {
+        // 依查詢時間計算剩餘壽命 (從檔案載入的項目也會沿用原本的查詢時間)
+        index = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.writing((String key, TrailerIndexEntry entry) -> remainingTtl(entry)))
+                .removalListener((String key, TrailerIndexEntry entry, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) dirty.set(true);
+                })
+                .build();
+
+        Path path = Path.of(indexFile);
+        if (!Files.exists(path)) return;
+
+        try {
+            Map<String, TrailerIndexEntry> stored = objectMapper.readValue(path.toFile(), new TypeReference<>() {});
+            index.putAll(stored);
+            dirty.set(false);
+            log.info("已載入預告片索引 {} 筆: {}", stored.size(), path.toAbsolutePath());
+        } catch (IOException e) {
+            // 索引只是加速用，讀不到就重新建立
+            log.warn("讀取預告片索引失敗，將重新建立: {} ({})", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    @Override
+    public String getTrailerUrl(long tmdbId, String mediaType) {
+        try {
+            return getTrailerUrlAsync(tmdbId, mediaType).join();
+        } catch (Exception e) {
+            log.warn("取得預告片失敗: {}", e.getMessage());
+            return null; // 同步方法直接回傳 null
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> getTrailerUrlAsync(long tmdbId, String mediaType) {
+        if (tmdbId == 0) return CompletableFuture.completedFuture(null);
+
+        String key = mediaType + "/" + tmdbId;
+        TrailerIndexEntry cached = index.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.url());
+        }
+
+        Map<String, String> qp = new HashMap<>();
+        qp.put("language", defaultLanguage);
+        qp.put("include_video_language", "zh,en");
+
+        return tmdbClient.getAsync(new String[]{mediaType, String.valueOf(tmdbId), "videos"}, qp)
+                .thenApply(videos -> {
+                    String url = findTrailerUrl(videos);
+                    // 查詢失敗時不會走到這裡，不會被誤記成沒有預告片
+                    index.put(key, new TrailerIndexEntry(url, System.currentTimeMillis()));
+                    dirty.set(true);
+                    return url;
+                });
+    }
+
+    @Override
+    public void warmUp(Collection<TmdbTitleRef> titles) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(titles.size());
+        for (TmdbTitleRef title : titles) {
+            futures.add(getTrailerUrlAsync(title.tmdbId(), title.mediaType().name())
+                    .exceptionally(e -> null));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        log.info("預告片索引預熱完成: {} 筆，索引共 {} 筆", titles.size(), index.estimatedSize());
+        flush();
+    }
+
+//    定期把索引快照寫入檔案 (只有變動時才寫)，過期與超出上限的項目由快取移除
+    @Scheduled(
+            initialDelayString = "${tmdb.trailer.flush-interval:5m}",
+            fixedDelayString = "${tmdb.trailer.flush-interval:5m}"
+    )
+    public synchronized void flush() {
+        index.cleanUp();
+        if (!dirty.getAndSet(false)) return;
+
+        Path path = Path.of(indexFile);
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+            // 先寫暫存檔再改名，避免寫到一半被讀到
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new HashMap<>(index.asMap()));
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("寫入預告片索引失敗: {} ({})", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // 有預告片 30 天、沒有預告片 1 天，扣掉已經經過的時間
+    private Duration remainingTtl(TrailerIndexEntry entry) {
+        Duration entryTtl = (entry.url() != null) ? ttl : missingTtl;
+        Duration age = Duration.ofMillis(Math.max(0, System.currentTimeMillis() - entry.resolvedAt()));
+        Duration remaining = entryTtl.minus(age);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private String findTrailerUrl(JsonNode videoNode) {
+        if (videoNode == null) return null;
+        JsonNode results = videoNode.path("results");
+        if (!results.isArray() || results.isEmpty()) return null;
+
+        String fallbackTrailer = null;
+        String chineseTrailer = null;
+
+        for (JsonNode video : results) {
+            if ("YouTube".equals(video.path("site").asText())) {
+                String key = video.path("key").asText(null);
+                if (key == null) continue;
+
+                String url = "https://www.youtube.com/embed/" + key;
+                String type = video.path("type").asText();
+
+                if ("Trailer".equals(type)) {
+                    if ("zh".equals(video.path("iso_639_1").asText(""))) {
+                        chineseTrailer = url;
+                        break;
+                    }
+                    if (fallbackTrailer == null) fallbackTrailer = url;
+                }
+                if ("Teaser".equals(type) && fallbackTrailer == null) {
+                    fallbackTrailer = url;
+                }
+            }
+        }
+
+        return (chineseTrailer != null) ? chineseTrailer : fallbackTrailer;
+    }
+
+    // 索引項目，url 為 null 表示沒有預告片
+    record TrailerIndexEntry(String url, long resolvedAt) {
+    }
+}
@@ -0,0 +1,42 @@
+-- 本地目錄 (列表實體化) 資料表，對應 CatalogTitleEntity、CatalogRankEntity、CatalogListEntity
+-- 正式環境 ddl-auto=validate，由 spring.sql.init 在 Hibernate 驗證前執行 (可重複執行)
+
+CREATE TABLE IF NOT EXISTS catalog_title (
+  catalog_title_id     BIGINT AUTO_INCREMENT PRIMARY KEY,
+  tmdb_id              BIGINT       NOT NULL,
+  media_type           ENUM ('movie','tv','person') NOT NULL,
+  title                VARCHAR(255),
+  original_title       VARCHAR(255),
+  overview             TEXT,
+  poster_path          VARCHAR(255),
+  backdrop_path        VARCHAR(255),
+  profile_path         VARCHAR(255),
+  genre_ids            VARCHAR(255),
+  vote_average         DOUBLE,
+  vote_count           INT,
+  popularity           DOUBLE,
+  release_date         VARCHAR(255),
+  original_language    VARCHAR(255),
+  known_for_department VARCHAR(255),
+  updated_at           DATETIME(6),
+  UNIQUE KEY uk_catalog_title (tmdb_id, media_type)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_rank (
+  catalog_rank_id  BIGINT AUTO_INCREMENT PRIMARY KEY,
+  list_name        VARCHAR(50) NOT NULL,
+  page_no          INT         NOT NULL,
+  rank_no          INT         NOT NULL,
+  catalog_title_id BIGINT      NOT NULL,
+  UNIQUE KEY uk_catalog_rank (list_name, rank_no),
+  KEY idx_catalog_rank_page (list_name, page_no),
+  CONSTRAINT fk_catalog_rank_title FOREIGN KEY (catalog_title_id) REFERENCES catalog_title (catalog_title_id)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_list (
+  list_name          VARCHAR(50) PRIMARY KEY,
+  total_pages        INT         NOT NULL,
+  total_results      INT         NOT NULL,
+  materialized_pages INT         NOT NULL,
+  synced_at          DATETIME(6) NOT NULL
+);
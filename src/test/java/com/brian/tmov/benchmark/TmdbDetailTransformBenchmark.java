@@ -0,0 +1,361 @@
+package com.brian.tmov.benchmark;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.service.TmdbGetImageService;
+import com.brian.tmov.service.impl.TmdbDetailTransformer;
+import com.brian.tmov.service.impl.TmdbGetImageServiceImpl;
+import com.brian.tmov.standin.TmdbFixtureStore;
+import com.brian.tmov.standin.TmdbStandInSettings;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 比較詳情 JSON 加工：原本的多次走訪 (processImageField 字串 switch + 串流平台 deepCopy) vs 單次走訪的 TmdbDetailTransformer
+ * 每次呼叫都包含 readTree，與正式流程 (從快取讀出 bytes 後加工) 相同
+ * 資料優先使用錄製的 fixture (與 getPersonDetail / getMovieDetail 相同的請求)，沒有時改用產生的大型回應
+ * (人物 300 筆 combined_credits、電影 200 位演員與多地區串流平台)
+ *
+ * 錄製：以 TmdbStandInServer --mode=record 啟動並將 tmdb.base-url 指向它，開啟 /api/tmdb/person/1245 與 /api/tmdb/movie/550
+ * (人物 1245 有數百筆作品)，fixture 會存到 src/test/resources/tmdb-fixtures/person/1245/、movie/550/
+ *
+ * 記憶體配置量加上 GC profiler 觀察：
+ * java --enable-preview -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main TmdbDetailTransformBenchmark -prof gc
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class TmdbDetailTransformBenchmark {
+
+    private static final String PERSON_ID = "1245";
+
+    private static final String MOVIE_ID = "550";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] personBody;
+
+    private byte[] movieBody;
+
+    private LegacyDetailTransformer legacyTransformer;
+
+    private TmdbDetailTransformer transformer;
+
+    @Setup
+    public void setUp() throws IOException {
+        TmdbGetImageService imageService = new TmdbGetImageServiceImpl();
+        legacyTransformer = new LegacyDetailTransformer(imageService);
+        transformer = new TmdbDetailTransformer(imageService);
+
+        TmdbFixtureStore fixtures = new TmdbFixtureStore(Path.of(new TmdbStandInSettings().getFixturesDirectory()));
+        personBody = recordedOrGenerated(fixtures, TmdbRequestKey.of(new String[]{"person", PERSON_ID}, Map.of(
+                "language", "zh-TW",
+                "append_to_response", "combined_credits,images,translations,external_ids"
+        )), samplePerson(300));
+        movieBody = recordedOrGenerated(fixtures, TmdbRequestKey.of(new String[]{"movie", MOVIE_ID}, Map.of(
+                "language", "zh-TW",
+                "append_to_response", "credits,videos,recommendations,images,release_dates,watch/providers,external_ids",
+                "include_video_language", "zh,en"
+        )), sampleMovie(200, 20));
+
+        // 兩種加工方式的結果必須相同
+        verifySameOutput(personBody, "person");
+        verifySameOutput(movieBody, "movie");
+    }
+
+    @Benchmark
+    public JsonNode personMultiPass() throws IOException {
+        return legacyTransformer.transform(objectMapper.readTree(personBody), "person");
+    }
+
+    @Benchmark
+    public JsonNode personSinglePass() throws IOException {
+        return transformer.transformDetail(objectMapper.readTree(personBody), "person");
+    }
+
+    @Benchmark
+    public JsonNode movieMultiPass() throws IOException {
+        return legacyTransformer.transform(objectMapper.readTree(movieBody), "movie");
+    }
+
+    @Benchmark
+    public JsonNode movieSinglePass() throws IOException {
+        return transformer.transformDetail(objectMapper.readTree(movieBody), "movie");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TmdbDetailTransformBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    // ===================================================================================
+    // 測試資料
+    // ===================================================================================
+
+    private byte[] recordedOrGenerated(TmdbFixtureStore fixtures, TmdbRequestKey key, ObjectNode generated) throws IOException {
+        Optional<TmdbFixtureStore.Fixture> recorded = fixtures.find(key);
+        if (recorded.isPresent()) {
+            log.info("使用錄製的 fixture: {} ({} bytes)", key, recorded.get().body().length);
+            return recorded.get().body();
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(generated);
+        log.info("找不到錄製的 fixture，改用產生的資料: {} ({} bytes)", key, body.length);
+        return body;
+    }
+
+    private void verifySameOutput(byte[] body, String type) throws IOException {
+        JsonNode legacy = legacyTransformer.transform(objectMapper.readTree(body), type);
+        JsonNode singlePass = transformer.transformDetail(objectMapper.readTree(body), type);
+        if (!legacy.equals(singlePass)) {
+            throw new IllegalStateException("單次走訪的加工結果與原本不同: " + type);
+        }
+    }
+
+    private ObjectNode samplePerson(int credits) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", 287);
+        root.put("name", "Brad Pitt");
+        root.put("biography", "");
+        root.put("profile_path", "/cckcYc2v0yh1tc9QjRelptcOBko.jpg");
+
+        ArrayNode cast = root.putObject("combined_credits").putArray("cast");
+        ArrayNode crew = ((ObjectNode) root.get("combined_credits")).putArray("crew");
+        for (int i = 0; i < credits; i++) {
+            ObjectNode credit = cast.addObject();
+            credit.put("id", 1000 + i);
+            credit.put("media_type", (i % 3 == 0) ? "tv" : "movie");
+            credit.put("title", "Title " + i);
+            credit.put("character", "Character " + i);
+            credit.put("overview", "Overview ".repeat(20));
+            credit.put("poster_path", (i % 10 == 0) ? null : "/poster" + i + ".jpg");
+            credit.put("backdrop_path", "/backdrop" + i + ".jpg");
+            credit.put("vote_average", 7.5);
+            if (i % 4 == 0) {
+                ObjectNode job = crew.addObject();
+                job.put("id", 1000 + i);
+                job.put("job", "Producer");
+                job.put("poster_path", "/poster" + i + ".jpg");
+            }
+        }
+
+        ArrayNode profiles = root.putObject("images").putArray("profiles");
+        for (int i = 0; i < 30; i++) {
+            profiles.addObject().put("file_path", "/profile" + i + ".jpg");
+        }
+
+        ArrayNode translations = root.putObject("translations").putArray("translations");
+        for (String lang : new String[]{"de", "fr", "ja", "en", "zh"}) {
+            ObjectNode t = translations.addObject();
+            t.put("iso_639_1", lang);
+            t.putObject("data").put("biography", "Biography in " + lang + " ".repeat(200));
+        }
+
+        root.putObject("external_ids").put("imdb_id", "nm0000093");
+        return root;
+    }
+
+    private ObjectNode sampleMovie(int castSize, int recommendations) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("id", 550);
+        root.put("title", "Fight Club");
+        root.put("overview", "Overview ".repeat(40));
+        root.put("poster_path", "/pB8BM7pdSp6B6Ih7QZ4DrQ3PmJK.jpg");
+        root.put("backdrop_path", "/hZkgoQYus5vegHoetLkCJzb17zJ.jpg");
+
+        ObjectNode credits = root.putObject("credits");
+        ArrayNode cast = credits.putArray("cast");
+        for (int i = 0; i < castSize; i++) {
+            ObjectNode member = cast.addObject();
+            member.put("id", 800 + i);
+            member.put("name", "Actor " + i);
+            member.put("character", "Role " + i);
+            member.put("profile_path", (i % 5 == 0) ? null : "/actor" + i + ".jpg");
+        }
+        credits.putArray("crew");
+
+        ArrayNode results = root.putObject("recommendations").putArray("results");
+        for (int i = 0; i < recommendations; i++) {
+            ObjectNode rec = results.addObject();
+            rec.put("id", 2000 + i);
+            rec.put("title", "Recommendation " + i);
+            rec.put("poster_path", "/rec" + i + ".jpg");
+            rec.put("backdrop_path", "/recb" + i + ".jpg");
+        }
+
+        ArrayNode releases = root.putObject("release_dates").putArray("results");
+        for (String iso : new String[]{"DE", "FR", "JP", "US", "TW"}) {
+            ObjectNode region = releases.addObject();
+            region.put("iso_3166_1", iso);
+            region.putArray("release_dates").addObject().put("certification", iso + "-18");
+        }
+
+        ObjectNode providers = root.putObject("watch/providers").putObject("results");
+        for (String iso : new String[]{"DE", "FR", "JP", "US", "TW", "KR", "GB", "CA"}) {
+            ObjectNode region = providers.putObject(iso);
+            region.put("link", "https://www.themoviedb.org/movie/550/watch?locale=" + iso);
+            for (String kind : new String[]{"flatrate", "rent", "buy"}) {
+                ArrayNode list = region.putArray(kind);
+                for (int i = 0; i < 6; i++) {
+                    ObjectNode provider = list.addObject();
+                    provider.put("provider_id", i);
+                    provider.put("provider_name", "Provider " + i);
+                    provider.put("logo_path", "/logo" + i + ".jpg");
+                }
+            }
+        }
+
+        ArrayNode backdrops = root.putObject("images").putArray("backdrops");
+        for (int i = 0; i < 50; i++) {
+            backdrops.addObject().put("file_path", "/image" + i + ".jpg");
+        }
+
+        root.putObject("external_ids").put("imdb_id", "tt0137523");
+        return root;
+    }
+
+    // ===================================================================================
+    // 原本的加工方式 (多次走訪)，作為比較基準
+    // ===================================================================================
+
+    private static class LegacyDetailTransformer {
+
+        private final TmdbGetImageService tmdbGetImageService;
+
+        LegacyDetailTransformer(TmdbGetImageService tmdbGetImageService) {
+            this.tmdbGetImageService = tmdbGetImageService;
+        }
+
+        JsonNode transform(JsonNode rootNode, String type) {
+            if (rootNode == null || !rootNode.isObject()) return rootNode;
+            ObjectNode root = (ObjectNode) rootNode;
+
+            if ("person".equals(type)) {
+                String bio = root.path("biography").asText("");
+                if (bio.isBlank()) {
+                    String enBio = findEnglishBiography(root.path("translations"));
+                    if (enBio != null && !enBio.isBlank()) {
+                        root.put("biography", enBio);
+                    }
+                }
+            }
+
+            processImageField(root, "poster_path", "full_poster_url", "poster");
+            processImageField(root, "backdrop_path", "full_backdrop_url", "backdrop");
+            processImageField(root, "profile_path", "full_profile_url", "profile");
+
+            if (root.has("credits") && root.get("credits").has("cast")) {
+                for (JsonNode cast : root.get("credits").get("cast")) {
+                    if (cast.isObject()) processImageField((ObjectNode) cast, "profile_path", "full_profile_url", "profile");
+                }
+            }
+            if (root.has("recommendations") && root.get("recommendations").has("results")) {
+                for (JsonNode rec : root.get("recommendations").get("results")) {
+                    if (rec.isObject()) {
+                        processImageField((ObjectNode) rec, "poster_path", "full_poster_url", "poster");
+                        processImageField((ObjectNode) rec, "backdrop_path", "full_backdrop_url", "backdrop");
+                    }
+                }
+            }
+            if ("person".equals(type) && root.has("combined_credits") && root.get("combined_credits").has("cast")) {
+                for (JsonNode credit : root.get("combined_credits").get("cast")) {
+                    if (credit.isObject()) {
+                        processImageField((ObjectNode) credit, "poster_path", "full_poster_url", "poster");
+                        processImageField((ObjectNode) credit, "backdrop_path", "full_backdrop_url", "backdrop");
+                    }
+                }
+            }
+
+            String rating = "N/A";
+            if ("movie".equals(type)) {
+                rating = extractMovieCertification(root.path("release_dates"));
+            }
+            root.put("custom_rating", rating);
+
+            JsonNode watchProviders = extractWatchProviders(root.path("watch/providers"));
+            if (watchProviders != null) {
+                root.set("custom_watch_providers", watchProviders);
+            }
+            return rootNode;
+        }
+
+        private String findEnglishBiography(JsonNode translationsNode) {
+            for (JsonNode t : translationsNode.path("translations")) {
+                if ("en".equals(t.path("iso_639_1").asText(""))) {
+                    return t.path("data").path("biography").asText(null);
+                }
+            }
+            return null;
+        }
+
+        private String extractMovieCertification(JsonNode releaseDatesNode) {
+            String usRating = null;
+            for (JsonNode region : releaseDatesNode.path("results")) {
+                String iso = region.path("iso_3166_1").asText("");
+                if ("TW".equals(iso)) {
+                    for (JsonNode release : region.path("release_dates")) {
+                        String cert = release.path("certification").asText("");
+                        if (!cert.isBlank()) return cert;
+                    }
+                }
+                if ("US".equals(iso) && usRating == null) {
+                    for (JsonNode release : region.path("release_dates")) {
+                        String cert = release.path("certification").asText("");
+                        if (!cert.isBlank()) {
+                            usRating = cert;
+                            break;
+                        }
+                    }
+                }
+            }
+            return usRating != null ? usRating : "N/A";
+        }
+
+        private JsonNode extractWatchProviders(JsonNode providersNode) {
+            JsonNode twProviders = providersNode.path("results").path("TW");
+            if (twProviders.isMissingNode()) return null;
+
+            ObjectNode result = (ObjectNode) twProviders.deepCopy();
+            for (String listKey : new String[]{"flatrate", "rent", "buy"}) {
+                for (JsonNode item : result.path(listKey)) {
+                    if (item.isObject()) {
+                        String logoPath = item.path("logo_path").asText(null);
+                        ((ObjectNode) item).put("full_logo_url", tmdbGetImageService.getFullImageUrl(logoPath, "original"));
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void processImageField(ObjectNode node, String pathField, String urlField, String type) {
+            if (node.has(pathField) && !node.get(pathField).isNull()) {
+                String path = node.get(pathField).asText();
+                String fullUrl = switch (type) {
+                    case "poster" -> tmdbGetImageService.getDefaultPosterUrl(path);
+                    case "backdrop" -> tmdbGetImageService.getDefaultBackdropUrl(path);
+                    case "profile" -> tmdbGetImageService.getDefaultProfileUrl(path);
+                    default -> null;
+                };
+                node.put(urlField, fullUrl);
+            }
+        }
+    }
+}
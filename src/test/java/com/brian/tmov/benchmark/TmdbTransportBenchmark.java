@@ -0,0 +1,98 @@
+package com.brian.tmov.benchmark;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.brian.tmov.client.transport.JdkHttpTmdbTransport;
+import com.brian.tmov.client.transport.RestClientTmdbTransport;
+import com.brian.tmov.client.transport.TmdbTransport;
+import com.brian.tmov.client.transport.TmdbTransportProperties;
+import com.brian.tmov.standin.TmdbStandInServer;
+import com.brian.tmov.standin.TmdbStandInSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 比較 TMDB 傳輸層：原本的 RestClient (預設 request factory) vs JDK HttpClient (連線重用 + gzip)
+ * 使用 TMDB 替身伺服器 (TmdbStandInServer) 回放模擬的列表回應，不需要網路
+ *
+ * 執行方式：mvn test-compile 後以 IDE 執行 main，或
+ * java --enable-preview -cp target/test-classes:target/classes:<test classpath> com.brian.tmov.benchmark.TmdbTransportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Dsun.net.httpserver.nodelay=true"})
+@Threads(8)
+public class TmdbTransportBenchmark {
+
+    private static final TmdbRequestKey KEY =
+            TmdbRequestKey.of(new String[]{"movie", "popular"}, Map.of("language", "zh-TW", "page", "1"));
+
+    private TmdbStandInServer standIn;
+
+    private TmdbTransport restClientTransport;
+
+    private JdkHttpTmdbTransport jdkTransport;
+
+    @Setup
+    public void setUp() throws IOException {
+        TmdbStandInSettings settings = new TmdbStandInSettings();
+        settings.setPort(0);
+
+        standIn = new TmdbStandInServer(settings)
+                .putDefaultFixture("movie/popular", sampleListBody())
+                .start();
+
+        String baseUrl = standIn.getBaseUrl();
+        restClientTransport = new RestClientTmdbTransport("benchmark-token", baseUrl);
+        jdkTransport = new JdkHttpTmdbTransport("benchmark-token", baseUrl, new TmdbTransportProperties());
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdkTransport.shutdown();
+        standIn.stop();
+    }
+
+    @Benchmark
+    public int restClient() {
+        return restClientTransport.exchange(KEY).body().length;
+    }
+
+    @Benchmark
+    public int jdkHttpClient() {
+        return jdkTransport.exchange(KEY).body().length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TmdbTransportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // 模擬一頁 TMDB 列表 (20 筆，含較長的簡介)
+    private static byte[] sampleListBody() {
+        StringBuilder sb = new StringBuilder("{\"page\":1,\"total_pages\":500,\"total_results\":10000,\"results\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(1000 + i)
+                    .append(",\"title\":\"測試電影 ").append(i).append('"')
+                    .append(",\"original_title\":\"Benchmark Movie ").append(i).append('"')
+                    .append(",\"overview\":\"").append("這是一段用來模擬 TMDB 簡介的文字。".repeat(20)).append('"')
+                    .append(",\"poster_path\":\"/poster").append(i).append(".jpg\"")
+                    .append(",\"backdrop_path\":\"/backdrop").append(i).append(".jpg\"")
+                    .append(",\"genre_ids\":[18,80,53],\"popularity\":123.45,\"vote_average\":7.8,\"vote_count\":4321")
+                    .append(",\"release_date\":\"2025-01-01\",\"original_language\":\"en\",\"adult\":false,\"video\":false}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
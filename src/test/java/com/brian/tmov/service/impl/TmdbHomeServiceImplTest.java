@@ -0,0 +1,71 @@
+package com.brian.tmov.service.impl;
+
+import com.brian.tmov.dto.response.TmdbHomeResponse;
+import com.brian.tmov.dto.response.TmdbListPage;
+import com.brian.tmov.service.TmdbDiscoverService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TmdbHomeServiceImplTest {
+
+    private static final TmdbListPage PAGE = new TmdbListPage(1, 1, 0, List.of());
+
+    private final TmdbDiscoverService tmdbDiscoverService = mock(TmdbDiscoverService.class);
+
+    private final TmdbHomeServiceImpl tmdbHomeService = new TmdbHomeServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tmdbHomeService, "tmdbDiscoverService", tmdbDiscoverService);
+        ReflectionTestUtils.setField(tmdbHomeService, "sectionTimeout", Duration.ofMillis(300));
+
+        when(tmdbDiscoverService.getRandomPopularBackdrops(anyString())).thenReturn(Map.of("backdrop_desktop_url", "hero"));
+        when(tmdbDiscoverService.getTrendingAll(anyString(), anyInt())).thenReturn(PAGE);
+        when(tmdbDiscoverService.getPopularMovies(anyInt())).thenReturn(PAGE);
+        when(tmdbDiscoverService.getPopularAnimation(anyInt())).thenReturn(PAGE);
+        when(tmdbDiscoverService.getPopularDrama(anyInt())).thenReturn(PAGE);
+        when(tmdbDiscoverService.getPopularVariety(anyInt())).thenReturn(PAGE);
+        when(tmdbDiscoverService.getNowPlayingMovies(anyInt())).thenReturn(PAGE);
+        when(tmdbDiscoverService.getUpcomingMovies(anyInt())).thenReturn(PAGE);
+    }
+
+    @Test
+    void slowSectionIsListedAsUnavailableAndOthersAreReturned() {
+        when(tmdbDiscoverService.getPopularTv(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return PAGE;
+        });
+
+        long start = System.nanoTime();
+        TmdbHomeResponse response = tmdbHomeService.getHomeFeed();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(response.unavailable()).containsExactly("popular_tv");
+        assertThat(response.hero()).containsEntry("backdrop_desktop_url", "hero");
+        assertThat(response.sections()).containsOnlyKeys(
+                "trending", "popular_movies", "popular_anime", "popular_drama",
+                "popular_variety", "now_playing", "upcoming");
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void failedSectionIsListedAsUnavailable() {
+        when(tmdbDiscoverService.getPopularTv(anyInt())).thenThrow(new IllegalStateException("boom"));
+
+        TmdbHomeResponse response = tmdbHomeService.getHomeFeed();
+
+        assertThat(response.unavailable()).containsExactly("popular_tv");
+        assertThat(response.sections()).hasSize(7);
+    }
+}
@@ -0,0 +1,109 @@
+package com.brian.tmov.standin;
+
+import com.brian.tmov.client.TmdbRequestKey;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * TMDB 回應 fixture
+ * 檔案位置：{fixtures}/{路徑}/{編碼後的查詢參數}.json，沒有參數時為 _.json
+ * 找不到完全相符的檔案時，依序改用 {路徑}/_default.json 與 {端點樣板}/_default.json (數字 ID 換成 _id_)
+ * 程式中以 put 放入的 fixture 優先於檔案
+ */
+public class TmdbFixtureStore {
+
+    private static final String DEFAULT_FILE = "_default.json";
+
+    private final Path directory;
+
+    private final Map<String, Fixture> overrides = new ConcurrentHashMap<>();
+
+    // 已讀取過的檔案 (含 gzip 版本)，避免每次請求都讀磁碟
+    private final Map<Path, Optional<Fixture>> loaded = new ConcurrentHashMap<>();
+
+    public TmdbFixtureStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Optional<Fixture> find(TmdbRequestKey key) {
+        for (String candidate : candidates(key)) {
+            Fixture override = overrides.get(candidate);
+            if (override != null) return Optional.of(override);
+
+            Optional<Fixture> fromFile = loaded.computeIfAbsent(directory.resolve(candidate), this::load);
+            if (fromFile.isPresent()) return fromFile;
+        }
+        return Optional.empty();
+    }
+
+    // 完全相符的請求
+    public void put(TmdbRequestKey key, byte[] body) {
+        overrides.put(exactName(key), Fixture.of(body));
+    }
+
+    // 指定路徑或端點樣板 (例如 "movie/{id}") 的所有請求
+    public void putDefault(String pathOrEndpoint, byte[] body) {
+        overrides.put(templateDirectory(pathOrEndpoint) + "/" + DEFAULT_FILE, Fixture.of(body));
+    }
+
+    public void save(TmdbRequestKey key, byte[] body) throws IOException {
+        Path file = directory.resolve(exactName(key));
+        Files.createDirectories(file.getParent());
+        Files.write(file, body);
+        loaded.put(file, Optional.of(Fixture.of(body)));
+    }
+
+    private String[] candidates(TmdbRequestKey key) {
+        return new String[]{
+                exactName(key),
+                key.path() + "/" + DEFAULT_FILE,
+                templateDirectory(key.endpoint()) + "/" + DEFAULT_FILE
+        };
+    }
+
+    private String exactName(TmdbRequestKey key) {
+        if (key.params().isEmpty()) return key.path() + "/_.json";
+
+        String query = key.params().entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("&"));
+        return key.path() + "/" + URLEncoder.encode(query, StandardCharsets.UTF_8) + ".json";
+    }
+
+    private String templateDirectory(String endpoint) {
+        return endpoint.replace("{id}", "_id_");
+    }
+
+    private Optional<Fixture> load(Path file) {
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        try {
+            return Optional.of(Fixture.of(Files.readAllBytes(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Fixture(byte[] body, byte[] gzipped) {
+
+        static Fixture of(byte[] body) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Fixture(body, bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.brian.tmov.standin;
+
+import com.brian.tmov.client.TmdbRequestKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本機 TMDB 替身伺服器，讓基準測試與整合測試不需要網路
+ * 將 tmdb.base-url 指向 {@link #getBaseUrl()} 即可使用
+ *
+ * REPLAY：從 fixture 回放，可設定延遲分佈、錯誤率與週期性的 429 區段
+ * RECORD：轉發到真實 TMDB，並把成功的回應存成 fixture
+ *
+ * 獨立執行：
+ * java --enable-preview -cp target/test-classes:target/classes:$(cat cp.txt) com.brian.tmov.standin.TmdbStandInServer --mode=replay --port=8089
+ */
+@Slf4j
+public class TmdbStandInServer {
+
+    // TMDB 的 API 版本前綴，與 tmdb.base-url 相同
+    private static final String API_PREFIX = "/3/";
+
+    // 常態分佈的 99 百分位 z 值
+    private static final double Z_99 = 2.326;
+
+    private final TmdbStandInSettings settings;
+
+    private final TmdbFixtureStore fixtures;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder missing = new LongAdder();
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private HttpClient upstream;
+
+    private long startedAt;
+
+    public TmdbStandInServer(TmdbStandInSettings settings) {
+        this.settings = settings;
+        this.fixtures = new TmdbFixtureStore(Path.of(settings.getFixturesDirectory()));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("參數格式應為 --key=value: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        TmdbStandInSettings settings = TmdbStandInSettings.fromArgs(options);
+        if (settings.getBearerToken() == null) settings.setBearerToken(System.getenv("TMDB_TOKEN"));
+
+        TmdbStandInServer standIn = new TmdbStandInServer(settings).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(standIn::stop));
+    }
+
+    public TmdbStandInServer start() throws IOException {
+        if (settings.getMode() == TmdbStandInSettings.Mode.RECORD && settings.getBearerToken() == null) {
+            throw new IllegalStateException("錄製模式需要 TMDB bearer token (--bearer-token 或 TMDB_TOKEN)");
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.getPort()), 0);
+        server.setExecutor(executor);
+        server.createContext(API_PREFIX, this::handle);
+        server.start();
+        startedAt = System.nanoTime();
+
+        log.info("TMDB 替身伺服器已啟動 ({}): {}，fixture 目錄 {}",
+                settings.getMode(), getBaseUrl(), Path.of(settings.getFixturesDirectory()).toAbsolutePath());
+        return this;
+    }
+
+    public void stop() {
+        if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + API_PREFIX;
+    }
+
+//    放入完全相符請求的回應，例如 putFixture("movie/popular", Map.of("page", "1"), body)
+    public TmdbStandInServer putFixture(String path, Map<String, String> params, byte[] body) {
+        fixtures.put(TmdbRequestKey.of(new String[]{path}, params), body);
+        return this;
+    }
+
+//    放入某路徑或端點樣板的預設回應，例如 putDefaultFixture("movie/{id}", body)
+    public TmdbStandInServer putDefaultFixture(String pathOrEndpoint, byte[] body) {
+        fixtures.putDefault(pathOrEndpoint, body);
+        return this;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getMissingCount() {
+        return missing.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+
+        try (exchange) {
+            TmdbRequestKey key = toKey(exchange.getRequestURI());
+
+            sleepQuietly(sampleLatencyMillis());
+
+            if (isThrottled()) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(Math.max(1, settings.getRetryAfter().toSeconds())));
+                sendError(exchange, 429, 25, "Your request count is over the allowed limit.");
+                return;
+            }
+
+            if (settings.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+                errors.increment();
+                sendError(exchange, settings.getErrorStatus(), 11, "Internal error: Something went wrong, contact TMDb.");
+                return;
+            }
+
+            if (settings.getMode() == TmdbStandInSettings.Mode.RECORD) {
+                record(exchange, key);
+                return;
+            }
+
+            Optional<TmdbFixtureStore.Fixture> fixture = fixtures.find(key);
+            if (fixture.isEmpty()) {
+                missing.increment();
+                log.warn("找不到 fixture: {}", key);
+                sendError(exchange, 404, 34, "The resource you requested could not be found.");
+                return;
+            }
+
+            send(exchange, 200, fixture.get());
+        }
+    }
+
+    private void record(HttpExchange exchange, TmdbRequestKey key) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(key.toUri(settings.getUpstreamUrl()))
+                .header("Authorization", "Bearer " + settings.getBearerToken())
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> response;
+        try {
+            response = upstream.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 502, 0, "Recording interrupted");
+            return;
+        } catch (IOException e) {
+            log.warn("錄製時呼叫 TMDB 失敗: {} ({})", key, e.getMessage());
+            sendError(exchange, 502, 0, "Upstream TMDB unavailable");
+            return;
+        }
+
+        if (response.statusCode() == 200) {
+            // 寫檔失敗 (磁碟、檔名) 是本機問題，仍照常回傳 TMDB 的回應
+            try {
+                fixtures.save(key, response.body());
+                log.info("已錄製 fixture: {}", key);
+            } catch (IOException e) {
+                log.error("fixture 寫入失敗: {}", key, e);
+            }
+        }
+        send(exchange, response.statusCode(), TmdbFixtureStore.Fixture.of(response.body()));
+    }
+
+    private TmdbRequestKey toKey(URI uri) {
+        String path = uri.getPath().substring(API_PREFIX.length());
+        if (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+
+        Map<String, String> params = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                params.put(name, value);
+            }
+        }
+        return TmdbRequestKey.of(new String[]{path}, params);
+    }
+
+    // 每個 throttle-interval 週期的開頭 throttle-duration 內一律回 429
+    private boolean isThrottled() {
+        long interval = settings.getThrottleInterval().toNanos();
+        if (interval <= 0) return false;
+
+        long phase = (System.nanoTime() - startedAt) % interval;
+        return phase < settings.getThrottleDuration().toNanos();
+    }
+
+    private long sampleLatencyMillis() {
+        long median = settings.getLatencyMedian().toMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (settings.getLatency()) {
+            case NONE -> 0;
+            case FIXED -> median;
+            case UNIFORM -> random.nextLong(0, 2 * median + 1);
+            case LOG_NORMAL -> {
+                // median = e^mu, p99 = e^(mu + z99 * sigma)
+                double p99 = Math.max(settings.getLatencyP99().toMillis(), median + 1);
+                double sigma = Math.log(p99 / Math.max(median, 1)) / Z_99;
+                yield Math.round(Math.max(median, 1) * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+    }
+
+    private void send(HttpExchange exchange, int status, TmdbFixtureStore.Fixture fixture) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean useGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        byte[] payload = useGzip ? fixture.gzipped() : fixture.body();
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        if (useGzip) exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+
+    // 與 TMDB 相同格式的錯誤回應
+    private void sendError(HttpExchange exchange, int status, int statusCode, String message) throws IOException {
+        String body = "{\"success\":false,\"status_code\":" + statusCode + ",\"status_message\":\"" + message + "\"}";
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
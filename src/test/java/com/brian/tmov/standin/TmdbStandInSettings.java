@@ -0,0 +1,88 @@
+package com.brian.tmov.standin;
+
+import lombok.Data;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * TMDB 替身伺服器設定
+ * 以 main 啟動時可用 --key=value 覆寫，例如 --mode=record --latency=log-normal --error-rate=0.05
+ */
+@Data
+public class TmdbStandInSettings {
+
+    public enum Mode {
+        // 從 fixture 回放
+        REPLAY,
+        // 轉發到真實 TMDB 並把回應存成 fixture
+        RECORD
+    }
+
+    public enum LatencyDistribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    private Mode mode = Mode.REPLAY;
+
+    // 0 代表隨機挑選可用的 port
+    private int port = 8089;
+
+    private String fixturesDirectory = "src/test/resources/tmdb-fixtures";
+
+    // 錄製模式使用
+    private String upstreamUrl = "https://api.themoviedb.org/3/";
+
+    private String bearerToken;
+
+    private LatencyDistribution latency = LatencyDistribution.NONE;
+
+    // FIXED 使用 median；UNIFORM 介於 0 ~ 2 * median；LOG_NORMAL 依 median 與 p99 推算分佈
+    private Duration latencyMedian = Duration.ofMillis(40);
+
+    private Duration latencyP99 = Duration.ofMillis(250);
+
+    // 隨機回傳錯誤的比例 (0 ~ 1)
+    private double errorRate = 0.0;
+
+    private int errorStatus = 503;
+
+    // 每隔多久出現一次 429 區段 (0 代表關閉)
+    private Duration throttleInterval = Duration.ZERO;
+
+    // 每次 429 區段持續多久
+    private Duration throttleDuration = Duration.ofSeconds(2);
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public static TmdbStandInSettings fromArgs(Map<String, String> args) {
+        TmdbStandInSettings settings = new TmdbStandInSettings();
+        args.forEach((key, value) -> {
+            switch (key) {
+                case "mode" -> settings.setMode(Mode.valueOf(enumName(value)));
+                case "port" -> settings.setPort(Integer.parseInt(value));
+                case "fixtures" -> settings.setFixturesDirectory(value);
+                case "upstream-url" -> settings.setUpstreamUrl(value);
+                case "bearer-token" -> settings.setBearerToken(value);
+                case "latency" -> settings.setLatency(LatencyDistribution.valueOf(enumName(value)));
+                case "latency-median" -> settings.setLatencyMedian(DurationStyle.detectAndParse(value));
+                case "latency-p99" -> settings.setLatencyP99(DurationStyle.detectAndParse(value));
+                case "error-rate" -> settings.setErrorRate(Double.parseDouble(value));
+                case "error-status" -> settings.setErrorStatus(Integer.parseInt(value));
+                case "throttle-interval" -> settings.setThrottleInterval(DurationStyle.detectAndParse(value));
+                case "throttle-duration" -> settings.setThrottleDuration(DurationStyle.detectAndParse(value));
+                case "retry-after" -> settings.setRetryAfter(DurationStyle.detectAndParse(value));
+                default -> throw new IllegalArgumentException("未知的參數: --" + key);
+            }
+        });
+        return settings;
+    }
+
+    private static String enumName(String value) {
+        return value.trim().toUpperCase().replace('-', '_');
+    }
+}